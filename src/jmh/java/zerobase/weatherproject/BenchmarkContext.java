@@ -0,0 +1,62 @@
+package zerobase.weatherproject;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.repository.DateWeatherRepository;
+import zerobase.weatherproject.repository.DiaryRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database=h2",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false"));
+        args.addAll(List.of(extraArgs));
+
+        return new SpringApplicationBuilder(WeatherProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    // 날씨도 함께 저장해서 일기 작성 벤치마크가 날씨 API 를 호출하지 않고 DB 에서 읽도록 한다
+    public static void seedDiaries(ConfigurableApplicationContext context,
+                                   LocalDate startDate, int days, int diariesPerDay, int textLength) {
+        DiaryRepository diaryRepository = context.getBean(DiaryRepository.class);
+        DateWeatherRepository dateWeatherRepository = context.getBean(DateWeatherRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        String text = "오늘의 일기 ".repeat(Math.max(1, textLength / 7));
+
+        List<DateWeather> dateWeathers = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            dateWeathers.add(new DateWeather("seoul", startDate.plusDays(day), day % 3 == 0 ? "Rain" : "Clear",
+                    day % 3 == 0 ? "10d" : "01d", 270.0 + day % 30));
+        }
+        transactionTemplate.executeWithoutResult(status -> dateWeatherRepository.saveAll(dateWeathers));
+
+        for (DateWeather dateWeather : dateWeathers) {
+            List<Diary> diaries = new ArrayList<>(diariesPerDay);
+            for (int i = 0; i < diariesPerDay; i++) {
+                Diary diary = new Diary();
+                diary.setDateWeather(dateWeather);
+                diary.setText(text);
+                diaries.add(diary);
+            }
+            transactionTemplate.executeWithoutResult(status -> diaryRepository.saveAllInBatches(diaries));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package zerobase.weatherproject.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 upstream 에 대해 요청 처리 스레드 모델별 처리량을 비교한다.
+ * platform 은 Tomcat 기본 max-threads(200) 고정 풀, virtual 은 요청마다 가상 스레드를 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    private static final WeatherCity SEOUL =
+            new WeatherCity("seoul", 37.5665, 126.9780, "Asia/Seoul");
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"300"})
+    public long upstreamLatencyMillis;
+
+    @Param({"1000"})
+    public int concurrentRequests;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService requestExecutor;
+    private WeatherClient weatherClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        byte[] body = WeatherParserBenchmark.WEATHER_JSON.getBytes(StandardCharsets.UTF_8);
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.setExecutor(serverExecutor);
+        server.createContext("/data/2.5/weather", exchange -> {
+            try {
+                Thread.sleep(upstreamLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        boolean virtual = "virtual".equals(mode);
+        requestExecutor = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(200);
+        weatherClient = new WeatherClient("http://localhost:" + server.getAddress().getPort(),
+                "bench-key", 2000, 30_000, virtual, ObservationRegistry.NOOP,
+                new CircuitBreaker("weather-api", 100, 100, 1.0, Duration.ofMinutes(1),
+                        Duration.ofSeconds(1), 1, new SimpleMeterRegistry()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int blockingRequestsAgainstSlowUpstream() throws Exception {
+        List<Future<?>> requests = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            requests.add(requestExecutor.submit(() -> weatherClient.getCurrentWeather(SEOUL)));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+        return requests.size();
+    }
+}
@@ -0,0 +1,86 @@
+package zerobase.weatherproject.client;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zerobase.weatherproject.domain.DateWeather;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherParserBenchmark {
+
+    static final String WEATHER_JSON = "{\"coord\":{\"lon\":126.9778,\"lat\":37.5683},"
+            + "\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10n\"}],"
+            + "\"base\":\"stations\",\"main\":{\"temp\":290.11,\"feels_like\":289.9,\"temp_min\":289.84,"
+            + "\"temp_max\":291.84,\"pressure\":1016,\"humidity\":77,\"sea_level\":1016,\"grnd_level\":1010},"
+            + "\"visibility\":10000,\"wind\":{\"speed\":1.54,\"deg\":290},\"rain\":{\"1h\":0.21},"
+            + "\"clouds\":{\"all\":75},\"dt\":1730642263,\"sys\":{\"type\":1,\"id\":8105,\"country\":\"KR\","
+            + "\"sunrise\":1730584855,\"sunset\":1730623192},\"timezone\":32400,\"id\":1835848,"
+            + "\"name\":\"Seoul\",\"cod\":200}";
+
+    private static final LocalDate DATE = LocalDate.of(2024, 11, 3);
+
+    private final byte[] payload = WEATHER_JSON.getBytes(StandardCharsets.UTF_8);
+    private final WeatherJsonParser streamingParser = new WeatherJsonParser();
+
+    @Benchmark
+    public DateWeather jsonSimpleHashMap() throws ParseException {
+        HashMap<String, Object> parsedWeather = parseWeather(new String(payload, StandardCharsets.UTF_8));
+
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(DATE);
+        dateWeather.setWeather(parsedWeather.get("main").toString());
+        dateWeather.setIcon(parsedWeather.get("icon").toString());
+        dateWeather.setTemperature(Double.parseDouble((parsedWeather.get("temp")
+                .toString())));
+        return dateWeather;
+    }
+
+    @Benchmark
+    public DateWeather streamingParser() throws IOException {
+        return streamingParser.parse(new ByteArrayInputStream(payload), DATE);
+    }
+
+    private HashMap<String, Object> parseWeather(String jsonSting) throws ParseException {
+        JSONObject jsonObject = (JSONObject) new JSONParser().parse(jsonSting);
+
+        HashMap<String, Object> resultMap = new HashMap<>();
+
+        JSONObject mainData = (JSONObject) jsonObject.get("main");
+        if (mainData != null) {
+            resultMap.put("temp", mainData.get("temp"));
+        }
+
+        JSONArray weatherArray = (JSONArray) jsonObject.get("weather");
+        if (weatherArray != null && !weatherArray.isEmpty()) {
+            JSONObject weatherData = (JSONObject) weatherArray.getFirst();
+            if (weatherData != null) {
+                resultMap.put("main", weatherData.get("main"));
+                resultMap.put("icon", weatherData.get("icon"));
+            }
+        }
+
+        return resultMap;
+    }
+}
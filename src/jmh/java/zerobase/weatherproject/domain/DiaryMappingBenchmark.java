@@ -0,0 +1,75 @@
+package zerobase.weatherproject.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zerobase.weatherproject.dto.DiaryView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiaryMappingBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Param({"1000"})
+    public int size;
+
+    private List<DateWeather> weathers;
+    private List<Diary> diaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        weathers = new ArrayList<>(size);
+        diaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            DateWeather dateWeather = new DateWeather("seoul", START.plusDays(i % 366),
+                    "Clear", "01d", 270.0 + i % 30);
+            weathers.add(dateWeather);
+
+            Diary diary = new Diary();
+            diary.setId(i);
+            diary.setDateWeather(dateWeather);
+            diary.setText("오늘의 일기 " + i);
+            diaries.add(diary);
+        }
+    }
+
+    @Benchmark
+    public List<Diary> setDateWeather() {
+        List<Diary> mapped = new ArrayList<>(size);
+        for (DateWeather dateWeather : weathers) {
+            Diary diary = new Diary();
+            diary.setDateWeather(dateWeather);
+            diary.setText("오늘의 일기");
+            mapped.add(diary);
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public List<DiaryView> toView() {
+        List<DiaryView> views = new ArrayList<>(size);
+        for (Diary diary : diaries) {
+            views.add(DiaryView.of(diary));
+        }
+        return views;
+    }
+}
@@ -0,0 +1,174 @@
+package zerobase.weatherproject.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.Diary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 큰 조회 결과의 JSON 직렬화 비용을 비교한다. 엔티티 목록, DTO 목록, 본문 제외 목록, NDJSON 스트리밍.
+ * 바이너리(Smile/CBOR), 열 지향 형식과 gzip 압축은 wire.bytes 보조 지표로 전송 크기도 함께 남긴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiarySerializationBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"500"})
+    public int textLength;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+    private final ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+
+    private List<Diary> diaries;
+    private List<DiaryView> views;
+    private List<DiaryView> summaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String text = "오늘의 일기 ".repeat(Math.max(1, textLength / 7));
+        diaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Diary diary = new Diary();
+            diary.setId(i + 1);
+            diary.setDateWeather(new DateWeather("seoul", START.plusDays(i / 10),
+                    i % 3 == 0 ? "Rain" : "Clear", i % 3 == 0 ? "10d" : "01d", 270.0 + i % 30));
+            diary.setText(text);
+            diaries.add(diary);
+        }
+        views = diaries.stream().map(DiaryView::of).toList();
+        summaries = views.stream().map(DiaryView::withoutText).toList();
+    }
+
+    @Benchmark
+    public byte[] entities() throws IOException {
+        return objectMapper.writeValueAsBytes(diaries);
+    }
+
+    @Benchmark
+    public byte[] views() throws IOException {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] summaries() throws IOException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            writer.writeAll(views);
+        }
+        return out.count;
+    }
+
+    @Benchmark
+    public byte[] viewsJson(WireBytes wire) throws IOException {
+        return wire.record(objectMapper.writeValueAsBytes(views));
+    }
+
+    @Benchmark
+    public byte[] viewsSmile(WireBytes wire) throws IOException {
+        return wire.record(smileMapper.writeValueAsBytes(views));
+    }
+
+    @Benchmark
+    public byte[] viewsCbor(WireBytes wire) throws IOException {
+        return wire.record(cborMapper.writeValueAsBytes(views));
+    }
+
+    @Benchmark
+    public byte[] columnar(WireBytes wire) throws IOException {
+        return wire.record(objectMapper.writeValueAsBytes(DiaryColumns.of(views)));
+    }
+
+    @Benchmark
+    public byte[] viewsJsonGzip(WireBytes wire) throws IOException {
+        return wire.record(gzip(objectMapper, views));
+    }
+
+    @Benchmark
+    public byte[] columnarGzip(WireBytes wire) throws IOException {
+        return wire.record(gzip(objectMapper, DiaryColumns.of(views)));
+    }
+
+    @Benchmark
+    public byte[] viewsSmileGzip(WireBytes wire) throws IOException {
+        return wire.record(gzip(smileMapper, views));
+    }
+
+    private static byte[] gzip(ObjectMapper mapper, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    // 마지막 응답 크기를 그대로 남겨서 결과 JSON 에 형식별 전송 바이트가 찍히게 한다
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+        public long bytes;
+
+        byte[] record(byte[] payload) {
+            bytes = payload.length;
+            return payload;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package zerobase.weatherproject.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weatherproject.BenchmarkContext;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.repository.DateWeatherRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 스레드가 서로 다른 날짜에 일기를 저장할 때 처리량을 비교한다.
+ * serializable 은 기존처럼 SERIALIZABLE 트랜잭션으로 감싸고, striped 는 날짜별 잠금만 사용한다.
+ * <p>
+ * 내장 H2 에는 MySQL(InnoDB) 의 gap lock 이 없어서 SERIALIZABLE 의 범위 잠금 경합이 재현되지 않는다.
+ * 이 결과로는 두 방식의 오버헤드 차이만 볼 수 있고, MySQL 에서의 처리량 개선은 MySQL 에서 따로 측정해야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+public class CreateDiaryConcurrencyBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 60;
+
+    @Param({"striped", "serializable"})
+    public String concurrency;
+
+    private ConfigurableApplicationContext context;
+    private DiaryService diaryService;
+    private TransactionTemplate serializableTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("diary-create-" + concurrency);
+        DateWeatherRepository dateWeatherRepository = context.getBean(DateWeatherRepository.class);
+        List<DateWeather> weathers = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            weathers.add(new DateWeather("seoul", START.plusDays(day), "Clear", "01d", 280.0));
+        }
+        dateWeatherRepository.saveAll(weathers);
+
+        diaryService = context.getBean(DiaryService.class);
+        serializableTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        serializableTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void createDiary() {
+        LocalDate date = START.plusDays(ThreadLocalRandom.current().nextInt(DAYS));
+        if ("serializable".equals(concurrency)) {
+            serializableTransaction.executeWithoutResult(status ->
+                    diaryService.createDiary(date, null, "동시 저장 일기"));
+        } else {
+            diaryService.createDiary(date, null, "동시 저장 일기");
+        }
+    }
+}
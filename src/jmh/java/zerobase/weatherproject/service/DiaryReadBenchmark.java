@@ -0,0 +1,96 @@
+package zerobase.weatherproject.service;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weatherproject.BenchmarkContext;
+import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.dto.DiaryView;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관리 엔티티 조회와 DTO 프로젝션 조회를 비교한다. 힙 사용량은 -prof gc 의 gc.alloc.rate.norm 으로 확인한다.
+ * compressionThreshold 를 최댓값으로 두면 본문 압축을 끈 상태와 비교할 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiaryReadBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    @Param({"365", "1460"})
+    public int days;
+
+    @Param({"10"})
+    public int diariesPerDay;
+
+    @Param({"500", "8000"})
+    public int textLength;
+
+    @Param({"1024", "2147483647"})
+    public int compressionThreshold;
+
+    private ConfigurableApplicationContext context;
+    private DiaryService diaryService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private LocalDate end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("diary-read",
+                "--diary.text.compression-threshold-bytes=" + compressionThreshold);
+        BenchmarkContext.seedDiaries(context, START, days, diariesPerDay, textLength);
+
+        diaryService = context.getBean(DiaryService.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        end = START.plusDays(days - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Diary> managedEntities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select d from Diary d where d.date between :startDate and :endDate", Diary.class)
+                .setParameter("startDate", START)
+                .setParameter("endDate", end)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<DiaryView> projection() {
+        return diaryService.readDiaries(START, end, true);
+    }
+
+    @Benchmark
+    public List<DiaryView> projectionWithoutText() {
+        return diaryService.readDiaries(START, end, false);
+    }
+}
@@ -0,0 +1,104 @@
+package zerobase.weatherproject.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import zerobase.weatherproject.BenchmarkContext;
+import zerobase.weatherproject.dto.DiaryCreateRequest;
+import zerobase.weatherproject.dto.DiaryCreateResult;
+import zerobase.weatherproject.dto.DiaryView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내장 DB(H2) 위에서 DiaryService 의 조회/저장 경로를 측정한다.
+ * cold 조회는 매번 조회 캐시를 비운 뒤 DB에서 읽는다. 작성은 시드된 날씨를 사용해서 외부 API 를 호출하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiaryServiceBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 365;
+    private static final int RECENT_DAYS = 28;
+
+    private ConfigurableApplicationContext context;
+    private DiaryService diaryService;
+    private DiaryQueryCache diaryQueryCache;
+    private LocalDate end;
+    private List<LocalDate> recentDates;
+    private List<DiaryCreateRequest> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 시드된 날씨만 사용한다. 누락된 날씨가 있어도 실제 API 대신 닫힌 로컬 포트로 바로 실패하게 한다
+        context = BenchmarkContext.start("diary-service", "--openweathermap.base-url=http://localhost:9");
+        BenchmarkContext.seedDiaries(context, START, DAYS, 5, 300);
+
+        diaryService = context.getBean(DiaryService.class);
+        diaryQueryCache = context.getBean(DiaryQueryCache.class);
+        end = START.plusDays(DAYS - 1);
+        recentDates = end.minusDays(RECENT_DAYS - 1).datesUntil(end.plusDays(1)).toList();
+
+        batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new DiaryCreateRequest(START.plusDays(i % DAYS), "일괄 저장 일기 " + i, null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DiaryView> readDiaryCached() {
+        return diaryService.readDiary(end, true);
+    }
+
+    @Benchmark
+    public List<DiaryView> readDiaryCold() {
+        diaryQueryCache.invalidate(List.of(end));
+        return diaryService.readDiary(end, true);
+    }
+
+    @Benchmark
+    public List<DiaryView> readRecentDiariesCached() {
+        return diaryService.readDiaries(recentDates.getFirst(), end, true);
+    }
+
+    @Benchmark
+    public List<DiaryView> readRecentDiariesCold() {
+        diaryQueryCache.invalidate(recentDates);
+        return diaryService.readDiaries(recentDates.getFirst(), end, true);
+    }
+
+    @Benchmark
+    public void createDiary() {
+        LocalDate date = START.plusDays(ThreadLocalRandom.current().nextInt(DAYS));
+        diaryService.createDiary(date, null, "벤치마크 일기");
+    }
+
+    @Benchmark
+    public List<DiaryCreateResult> createDiaries() {
+        return diaryService.createDiaries(batch);
+    }
+}
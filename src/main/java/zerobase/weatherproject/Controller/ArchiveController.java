@@ -0,0 +1,37 @@
+package zerobase.weatherproject.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.weatherproject.archive.DiaryArchive;
+import zerobase.weatherproject.dto.ArchiveResult;
+import zerobase.weatherproject.service.DiaryArchiveService;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class ArchiveController {
+
+    private final DiaryArchiveService diaryArchiveService;
+    private final DiaryArchive diaryArchive;
+
+    public ArchiveController(DiaryArchiveService diaryArchiveService, DiaryArchive diaryArchive) {
+        this.diaryArchiveService = diaryArchiveService;
+        this.diaryArchive = diaryArchive;
+    }
+
+    @Operation(summary = "오래된 일기 보관", description = "보관 기준보다 오래된 달의 일기를 압축된 보관 파일로 옮깁니다. 보관된 일기도 조회는 그대로 됩니다")
+    @PostMapping("/archive/diaries")
+    CompletableFuture<List<ArchiveResult>> archiveDiaries() {
+        return diaryArchiveService.archiveColdMonthsAsync();
+    }
+
+    @Operation(summary = "보관된 달 조회", description = "보관 파일로 옮겨진 달 목록을 반환합니다")
+    @GetMapping("/archive/diaries/months")
+    List<YearMonth> archivedMonths() {
+        return List.copyOf(diaryArchive.months());
+    }
+}
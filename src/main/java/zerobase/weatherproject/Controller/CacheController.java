@@ -0,0 +1,36 @@
+package zerobase.weatherproject.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.weatherproject.service.DateWeatherCache;
+import zerobase.weatherproject.service.DateWeatherSecondLevelCache;
+import zerobase.weatherproject.service.DiaryQueryCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class CacheController {
+
+    private final DiaryQueryCache diaryQueryCache;
+    private final DateWeatherCache dateWeatherCache;
+    private final DateWeatherSecondLevelCache dateWeatherSecondLevelCache;
+
+    public CacheController(DiaryQueryCache diaryQueryCache, DateWeatherCache dateWeatherCache,
+                           DateWeatherSecondLevelCache dateWeatherSecondLevelCache) {
+        this.diaryQueryCache = diaryQueryCache;
+        this.dateWeatherCache = dateWeatherCache;
+        this.dateWeatherSecondLevelCache = dateWeatherSecondLevelCache;
+    }
+
+    @Operation(summary = "캐시 통계 조회", description = "일기 조회 캐시, 날씨 캐시, 날씨 엔티티 2차 캐시의 적중률과 사용 메모리 추정치를 반환합니다")
+    @GetMapping("/cache/stats")
+    Map<String, Object> cacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("diary", diaryQueryCache.stats());
+        stats.put("dateWeather", dateWeatherCache.stats());
+        stats.put("dateWeatherSecondLevel", dateWeatherSecondLevelCache.stats());
+        return stats;
+    }
+}
@@ -1,22 +1,61 @@
 package zerobase.weatherproject.Controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
-import zerobase.weatherproject.domain.Diary;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import zerobase.weatherproject.dto.DiaryCreateRequest;
+import zerobase.weatherproject.dto.DiaryCreateResult;
+import zerobase.weatherproject.dto.DiaryPage;
+import zerobase.weatherproject.dto.DiaryVersion;
+import zerobase.weatherproject.dto.DiaryView;
+import zerobase.weatherproject.dto.DiaryWriteReceipt;
 import zerobase.weatherproject.service.DiaryService;
+import zerobase.weatherproject.service.DiaryWriteBehindService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import static zerobase.weatherproject.config.DiaryColumnarHttpMessageConverter.APPLICATION_DIARY_COLUMNAR;
 
 @RestController
 public class DiaryController {
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // 일기 목록 조회가 내보낼 수 있는 형식과 ETag 에 넣을 이름. Accept 가 없거나 */* 이면 JSON 이 선택된다
+    private static final String DEFAULT_FORMAT = "json";
+    private static final Map<MediaType, String> DIARY_VIEW_FORMATS = new LinkedHashMap<>();
+
+    static {
+        DIARY_VIEW_FORMATS.put(MediaType.APPLICATION_JSON, DEFAULT_FORMAT);
+        DIARY_VIEW_FORMATS.put(APPLICATION_DIARY_COLUMNAR, "columnar");
+        DIARY_VIEW_FORMATS.put(MediaType.parseMediaType("application/x-jackson-smile"), "smile");
+        DIARY_VIEW_FORMATS.put(MediaType.APPLICATION_CBOR, "cbor");
+    }
+
     private final DiaryService diaryService;
+    private final DiaryWriteBehindService diaryWriteBehindService;
+    private final ObjectMapper objectMapper;
 
-    public DiaryController(DiaryService diaryService) {
+    public DiaryController(DiaryService diaryService, DiaryWriteBehindService diaryWriteBehindService,
+                           ObjectMapper objectMapper) {
         this.diaryService = diaryService;
+        this.diaryWriteBehindService = diaryWriteBehindService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "다이어리 생성", description = "일기 텍스트와 날씨를 이용해서 DB에 일기 저장")
@@ -26,25 +65,70 @@ public class DiaryController {
             @Parameter(description = "생성할 날짜", required = true, example = "2024-11-04")
             @NotNull
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false)
+            @Parameter(description = "일기를 작성한 도시 (생략 시 기본 도시)", example = "seoul") String city,
+            @RequestBody String text) {
+
+        diaryService.createDiary(date, city, text);
+    }
+
+    @Operation(summary = "다이어리 비동기 생성", description = "일기를 저장 대기열에 넣고 바로 202 와 요청 id 를 반환합니다. 대기열이 가득 차면 503 을 반환합니다")
+    @PostMapping("/create/diary/async")
+    ResponseEntity<DiaryWriteReceipt> createDiaryAsync(
+            @RequestParam
+            @Parameter(description = "생성할 날짜", required = true, example = "2024-11-04")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false)
+            @Parameter(description = "일기를 작성한 도시 (생략 시 기본 도시)", example = "seoul") String city,
             @RequestBody String text) {
 
-        diaryService.createDiary(date, text);
+        DiaryWriteReceipt receipt = diaryWriteBehindService.accept(date, city, text);
+        if (!receipt.accepted()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(receipt);
+        }
+        return ResponseEntity.accepted().body(receipt);
+    }
+
+    @Operation(summary = "다이어리 비동기 생성 결과 조회", description = "비동기 생성 요청 id 로 저장 결과와 생성된 일기 id 를 가져옵니다")
+    @GetMapping("/create/diary/async/status")
+    ResponseEntity<DiaryWriteReceipt> readCreateStatus(
+            @RequestParam
+            @Parameter(description = "비동기 생성 요청 id", required = true) String requestId) {
+
+        DiaryWriteReceipt receipt = diaryWriteBehindService.status(requestId);
+        return receipt == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(receipt);
+    }
+
+    @Operation(summary = "다이어리 일괄 생성", description = "여러 날짜의 일기를 한 번에 저장하고 항목별 결과를 반환합니다")
+    @PostMapping("/create/diaries")
+    List<DiaryCreateResult> createDiaries(@RequestBody List<DiaryCreateRequest> requests) {
+
+        return diaryService.createDiaries(requests);
     }
 
     @Operation(summary = "다이어리 조회", description = "선택한 날짜의 모든 일기 데이터를 가져옵니다")
     @GetMapping("/read/diary")
-    List<Diary> readDiary(
+    List<DiaryView> readDiary(
             @RequestParam
             @Parameter(description = "조회할 날짜", required = true, example = "2024-11-04")
             @NotNull
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "일기 본문(text) 포함 여부", example = "true") boolean includeText,
+            WebRequest webRequest) {
 
-        return diaryService.readDiary(date);
+        if (isNotModified(webRequest, date, date, includeText)) {
+            return null;
+        }
+        return diaryService.readDiary(date, includeText);
     }
 
     @Operation(summary = "다이어리 기간 조회", description = "선택한 기간의 모든 일기 데이터를 가져옵니다")
     @GetMapping("/read/diaries")
-    List<Diary> readDiaries(
+    List<DiaryView> readDiaries(
             @RequestParam
             @Parameter(description = "조회할 기간의 첫번째 날짜", required = true, example = "2024-11-04")
             @NotNull
@@ -52,31 +136,140 @@ public class DiaryController {
             @RequestParam
             @Parameter(description = "조회할 기간의 마지막 날짜", required = true, example = "2024-11-04")
             @NotNull
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "일기 본문(text) 포함 여부", example = "true") boolean includeText,
+            WebRequest webRequest) {
+
+        if (isNotModified(webRequest, startDate, endDate, includeText)) {
+            return null;
+        }
+        return diaryService.readDiaries(startDate, endDate, includeText);
+    }
+
+    @Operation(summary = "다이어리 기간 페이지 조회", description = "선택한 기간의 일기를 (날짜, id) 커서 기준으로 나눠서 가져옵니다")
+    @GetMapping("/read/diaries/page")
+    DiaryPage readDiaryPage(
+            @RequestParam
+            @Parameter(description = "조회할 기간의 첫번째 날짜", required = true, example = "2024-11-04")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam
+            @Parameter(description = "조회할 기간의 마지막 날짜", required = true, example = "2024-11-04")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false)
+            @Parameter(description = "이전 페이지 응답의 nextCursor") String cursor,
+            @RequestParam(defaultValue = "100")
+            @Parameter(description = "페이지 크기", example = "100") int size,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "일기 본문(text) 포함 여부", example = "true") boolean includeText) {
+
+        return diaryService.readDiaryPage(startDate, endDate, cursor, size, includeText);
+    }
+
+    @Operation(summary = "다이어리 기간 스트리밍 조회", description = "선택한 기간의 일기를 한 줄에 하나씩 NDJSON 으로 흘려보냅니다")
+    @GetMapping("/read/diaries/stream")
+    ResponseEntity<StreamingResponseBody> streamDiaries(
+            @RequestParam
+            @Parameter(description = "조회할 기간의 첫번째 날짜", required = true, example = "2024-11-04")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam
+            @Parameter(description = "조회할 기간의 마지막 날짜", required = true, example = "2024-11-04")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "일기 본문(text) 포함 여부", example = "true") boolean includeText) {
 
-        return diaryService.readDiaries(startDate, endDate);
+        StreamingResponseBody body = outputStream ->
+                diaryService.streamDiaries(startDate, endDate, includeText, diary -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(diary));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
     }
 
-    @Operation(summary = "다이어리 수정", description = "선택한 날짜의 첫번째 일기를 수정합니다")
+    @Operation(summary = "다이어리 수정", description = "선택한 날짜의 첫번째 일기를 수정하고 수정된 개수를 반환합니다")
     @PutMapping("/update/diary")
-    void updateDiary(
+    int updateDiary(
             @RequestParam
             @Parameter(description = "수정할 날짜", required = true, example = "2024-11-04")
             @NotNull
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestBody String text) {
 
-        diaryService.updateDiary(date, text);
+        return diaryService.updateDiary(date, text);
     }
 
-    @Operation(summary = "다이어리 삭제", description = "선택한 날짜의 모든 일기 데이터를 삭제합니다.")
+    @Operation(summary = "다이어리 삭제", description = "선택한 날짜의 모든 일기 데이터를 삭제하고 삭제된 개수를 반환합니다.")
     @DeleteMapping("/delete/diary")
-    void deleteDiary(
+    int deleteDiary(
             @RequestParam
             @Parameter(description = "삭제할 날짜", required = true, example = "2024-11-04")
             @NotNull
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
 
-        diaryService.deleteDiary(date);
+        return diaryService.deleteDiary(date);
+    }
+
+    @Operation(summary = "다이어리 기간 삭제", description = "선택한 기간의 모든 일기 데이터를 삭제하고 삭제된 개수를 반환합니다.")
+    @DeleteMapping("/delete/diaries")
+    int deleteDiaries(
+            @RequestParam
+            @Parameter(description = "삭제할 기간의 첫번째 날짜", required = true, example = "2024-11-04")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam
+            @Parameter(description = "삭제할 기간의 마지막 날짜", required = true, example = "2024-11-04")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return diaryService.deleteDiaries(startDate, endDate);
+    }
+
+    // 날짜별 버전만 조회해서 If-None-Match / If-Modified-Since 를 검사하고, 일치하면 일기를 읽지 않고 304 로 응답한다
+    // 같은 URL 이 Accept 에 따라 다른 형식으로 응답하므로 캐시가 형식별로 구분하도록 Vary: Accept 를 붙인다
+    private boolean isNotModified(WebRequest webRequest, LocalDate startDate, LocalDate endDate,
+                                  boolean includeText) {
+        if (webRequest instanceof ServletWebRequest servletWebRequest && servletWebRequest.getResponse() != null) {
+            servletWebRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        DiaryVersion version = diaryService.readVersion(startDate, endDate);
+        String etag = version.etag(includeText, negotiatedFormat(webRequest.getHeader(HttpHeaders.ACCEPT)));
+        return version.lastModified() == null
+                ? webRequest.checkNotModified(etag)
+                : webRequest.checkNotModified(etag, version.lastModifiedMillis());
+    }
+
+    // 메시지 컨버터와 같은 순서(구체적인 타입, q 값 순)로 Accept 를 훑어서 응답할 형식을 고른다.
+    // 열 지향 JSON 은 Accept 에 명시한 경우에만 선택된다 (DiaryColumnarHttpMessageConverter 참고)
+    private static String negotiatedFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return DEFAULT_FORMAT;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return DEFAULT_FORMAT;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            for (Map.Entry<MediaType, String> format : DIARY_VIEW_FORMATS.entrySet()) {
+                boolean columnar = format.getKey().equals(APPLICATION_DIARY_COLUMNAR);
+                if (format.getKey().isCompatibleWith(mediaType) && !(columnar && mediaType.isWildcardSubtype())) {
+                    return format.getValue();
+                }
+            }
+        }
+        return DEFAULT_FORMAT;
     }
 }
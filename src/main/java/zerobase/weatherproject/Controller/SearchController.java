@@ -0,0 +1,43 @@
+package zerobase.weatherproject.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.weatherproject.dto.DiarySearchHit;
+import zerobase.weatherproject.service.DiarySearchService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+public class SearchController {
+
+    private final DiarySearchService diarySearchService;
+
+    public SearchController(DiarySearchService diarySearchService) {
+        this.diarySearchService = diarySearchService;
+    }
+
+    @Operation(summary = "다이어리 본문 검색", description = "선택한 기간에서 검색어의 모든 단어를 포함하는 일기 id 를 관련도 순으로 가져옵니다")
+    @GetMapping("/search/diaries")
+    List<DiarySearchHit> searchDiaries(
+            @RequestParam
+            @Parameter(description = "검색어", required = true, example = "산책") String query,
+            @RequestParam
+            @Parameter(description = "검색할 기간의 첫번째 날짜", required = true, example = "2024-11-01")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam
+            @Parameter(description = "검색할 기간의 마지막 날짜", required = true, example = "2024-11-30")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "최대 결과 수", example = "20") int limit) {
+
+        return diarySearchService.search(query, startDate, endDate, limit);
+    }
+}
@@ -0,0 +1,52 @@
+package zerobase.weatherproject.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.weatherproject.dto.WeatherStatistics;
+import zerobase.weatherproject.service.WeatherStatisticsService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class StatisticsController {
+
+    private final WeatherStatisticsService weatherStatisticsService;
+
+    public StatisticsController(WeatherStatisticsService weatherStatisticsService) {
+        this.weatherStatisticsService = weatherStatisticsService;
+    }
+
+    @Operation(summary = "월간 날씨 통계", description = "선택한 연도의 월별 평균/최저/최고 기온, 날씨 상태별 일수와 일기 수를 가져옵니다")
+    @GetMapping("/statistics/monthly")
+    List<WeatherStatistics> readMonthly(
+            @RequestParam(required = false)
+            @Parameter(description = "조회할 도시 (생략 시 기본 도시)", example = "seoul") String city,
+            @RequestParam
+            @Parameter(description = "조회할 연도", required = true, example = "2024") int year) {
+
+        return weatherStatisticsService.readMonthly(city, year);
+    }
+
+    @Operation(summary = "연간 날씨 통계", description = "선택한 연도의 평균/최저/최고 기온, 날씨 상태별 일수와 일기 수를 가져옵니다")
+    @GetMapping("/statistics/yearly")
+    WeatherStatistics readYearly(
+            @RequestParam(required = false)
+            @Parameter(description = "조회할 도시 (생략 시 기본 도시)", example = "seoul") String city,
+            @RequestParam
+            @Parameter(description = "조회할 연도", required = true, example = "2024") int year) {
+
+        return weatherStatisticsService.readYearly(city, year);
+    }
+
+    @Operation(summary = "날씨 통계 재집계", description = "저장된 날씨와 일기로 통계를 연도별 병렬 집계해서 다시 만들고 집계한 연도 수를 반환합니다")
+    @PostMapping("/statistics/rebuild")
+    CompletableFuture<Integer> rebuild() {
+
+        return weatherStatisticsService.rebuildAsync();
+    }
+}
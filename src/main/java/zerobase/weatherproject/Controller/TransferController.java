@@ -0,0 +1,53 @@
+package zerobase.weatherproject.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.weatherproject.dto.TransferResult;
+import zerobase.weatherproject.service.DataTransferService;
+import zerobase.weatherproject.transfer.TransferFormat;
+import zerobase.weatherproject.transfer.TransferTable;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class TransferController {
+
+    private final DataTransferService dataTransferService;
+
+    public TransferController(DataTransferService dataTransferService) {
+        this.dataTransferService = dataTransferService;
+    }
+
+    @Operation(summary = "테이블 내보내기", description = "diary 또는 date_weather 테이블 전체를 서버의 내보내기 디렉터리에 NDJSON/CSV 파일로 저장합니다")
+    @PostMapping("/transfer/export")
+    CompletableFuture<TransferResult> exportTable(
+            @RequestParam
+            @Parameter(description = "내보낼 테이블", required = true, example = "DIARY") TransferTable table,
+            @RequestParam(defaultValue = "NDJSON")
+            @Parameter(description = "파일 형식", example = "NDJSON") TransferFormat format,
+            @RequestParam
+            @Parameter(description = "저장할 파일 이름", required = true, example = "diary.ndjson.gz") String file,
+            @RequestParam(defaultValue = "false")
+            @Parameter(description = "gzip 압축 여부", example = "true") boolean gzip) {
+
+        return dataTransferService.exportAsync(table, format, file, gzip);
+    }
+
+    @Operation(summary = "테이블 가져오기", description = "내보내기 파일을 읽어서 배치 단위로 저장하고, 중단된 경우 이어서 가져올 바이트 위치(endOffset)를 반환합니다")
+    @PostMapping("/transfer/import")
+    CompletableFuture<TransferResult> importTable(
+            @RequestParam
+            @Parameter(description = "가져올 테이블", required = true, example = "DIARY") TransferTable table,
+            @RequestParam(defaultValue = "NDJSON")
+            @Parameter(description = "파일 형식", example = "NDJSON") TransferFormat format,
+            @RequestParam
+            @Parameter(description = "읽을 파일 이름", required = true, example = "diary.ndjson.gz") String file,
+            @RequestParam(defaultValue = "0")
+            @Parameter(description = "이어서 가져올 위치 (이전 결과의 endOffset, 압축 해제 기준 바이트)", example = "0") long offset) {
+
+        return dataTransferService.importAsync(table, format, file, offset);
+    }
+}
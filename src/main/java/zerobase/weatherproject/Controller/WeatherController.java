@@ -0,0 +1,42 @@
+package zerobase.weatherproject.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.weatherproject.dto.BackfillResult;
+import zerobase.weatherproject.service.WeatherBackfillService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class WeatherController {
+
+    private final WeatherBackfillService weatherBackfillService;
+
+    public WeatherController(WeatherBackfillService weatherBackfillService) {
+        this.weatherBackfillService = weatherBackfillService;
+    }
+
+    @Operation(summary = "과거 날씨 백필", description = "선택한 기간 중 저장되지 않은 날짜의 날씨를 API 호출 한도 안에서 병렬로 가져와 저장합니다")
+    @PostMapping("/backfill/weather")
+    CompletableFuture<List<BackfillResult>> backfillWeather(
+            @RequestParam(required = false)
+            @Parameter(description = "백필할 도시 (생략 시 설정된 모든 도시)", example = "seoul") String city,
+            @RequestParam
+            @Parameter(description = "백필할 기간의 첫번째 날짜", required = true, example = "2024-10-01")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam
+            @Parameter(description = "백필할 기간의 마지막 날짜 (오늘 이전)", required = true, example = "2024-10-31")
+            @NotNull
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return weatherBackfillService.backfillAsync(city, startDate, endDate);
+    }
+}
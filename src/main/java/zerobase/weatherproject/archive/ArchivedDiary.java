@@ -0,0 +1,29 @@
+package zerobase.weatherproject.archive;
+
+import zerobase.weatherproject.dto.DiaryView;
+
+import java.time.LocalDate;
+
+/**
+ * 보관 파일에 저장되는 일기 한 건. 내보내기 행과 같은 열 순서를 쓴다.
+ */
+public record ArchivedDiary(int id, LocalDate date, String city, String weather, String icon,
+                            Double temperature, String text) {
+
+    // (id, date, city, weather, icon, temperature, text) 순서의 행
+    public static ArchivedDiary of(Object[] row) {
+        return new ArchivedDiary(((Number) row[0]).intValue(), (LocalDate) row[1], (String) row[2],
+                (String) row[3], (String) row[4], row[5] == null ? null : ((Number) row[5]).doubleValue(),
+                (String) row[6]);
+    }
+
+    public DiaryView toView(boolean includeText) {
+        return includeText
+                ? new DiaryView(id, text, weather, icon, temperature, date)
+                : new DiaryView(id, weather, icon, temperature, date);
+    }
+
+    public Object[] toRow() {
+        return new Object[]{id, date, city, weather, icon, temperature, text};
+    }
+}
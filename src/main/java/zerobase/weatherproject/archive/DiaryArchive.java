@@ -0,0 +1,260 @@
+package zerobase.weatherproject.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.weatherproject.dto.DiaryConditionCount;
+import zerobase.weatherproject.dto.DiaryView;
+import zerobase.weatherproject.exception.DiaryException;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static zerobase.weatherproject.type.ErrorCode.FAILED_FILE_TRANSFER;
+
+/**
+ * 오래된 달의 일기를 담는 콜드 보관소. 달마다 {@link DiaryArchiveFile} 하나를 두고,
+ * 조회 기간과 겹치는 달의 파일만 열어서 (날짜, id) 순으로 읽는다.
+ */
+@Component
+public class DiaryArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiaryArchive.class);
+
+    private static final Comparator<DiaryView> ORDER =
+            Comparator.comparing(DiaryView::date).thenComparingInt(DiaryView::id);
+
+    private final Path directory;
+    private final int blockSize;
+    private final NavigableMap<YearMonth, DiaryArchiveFile> files = new ConcurrentSkipListMap<>();
+
+    public DiaryArchive(@Value("${diary.archive.directory:./archive}") Path directory,
+                        @Value("${diary.archive.block-size:256}") int blockSize) throws IOException {
+        this.directory = directory;
+        this.blockSize = blockSize;
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(directory, "*.idx")) {
+            for (Path index : indexes) {
+                String name = index.getFileName().toString();
+                YearMonth month = YearMonth.parse(name.substring(0, name.length() - ".idx".length()));
+                DiaryArchiveFile file = DiaryArchiveFile.open(directory, month);
+                if (!file.isEmpty()) {
+                    files.put(month, file);
+                }
+            }
+        }
+        logger.info("loaded diary archive months=" + files.keySet());
+    }
+
+    public Set<YearMonth> months() {
+        return files.keySet();
+    }
+
+    public boolean isArchived(LocalDate date) {
+        return files.containsKey(YearMonth.from(date));
+    }
+
+    public boolean overlaps(LocalDate startDate, LocalDate endDate) {
+        return !startDate.isAfter(endDate)
+                && !files.subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true).isEmpty();
+    }
+
+    public LocalDate firstDate() {
+        Map.Entry<YearMonth, DiaryArchiveFile> first = files.firstEntry();
+        // 나중에 추가된 블록에 더 이른 날짜가 있을 수 있다
+        return first == null ? null : first.getValue().blocks().stream()
+                .map(DiaryArchiveFile.Block::firstDate)
+                .min(LocalDate::compareTo)
+                .orElse(null);
+    }
+
+    public LocalDate lastDate() {
+        Map.Entry<YearMonth, DiaryArchiveFile> last = files.lastEntry();
+        return last == null ? null : last.getValue().blocks().stream()
+                .map(DiaryArchiveFile.Block::lastDate)
+                .max(LocalDate::compareTo)
+                .orElse(null);
+    }
+
+    public List<ArchivedDiary> read(LocalDate startDate, LocalDate endDate) {
+        List<ArchivedDiary> diaries = new ArrayList<>();
+        if (startDate.isAfter(endDate)) {
+            return diaries;
+        }
+        for (DiaryArchiveFile file : files.subMap(YearMonth.from(startDate), true,
+                YearMonth.from(endDate), true).values()) {
+            diaries.addAll(readFile(file, startDate, endDate));
+        }
+        return diaries;
+    }
+
+    public List<DiaryView> readViews(LocalDate startDate, LocalDate endDate, boolean includeText) {
+        return read(startDate, endDate).stream().map(diary -> diary.toView(includeText)).toList();
+    }
+
+    public List<DiaryView> readViews(Collection<LocalDate> dates, boolean includeText) {
+        NavigableSet<LocalDate> targets = new TreeSet<>(dates);
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        return read(targets.first(), targets.last()).stream()
+                .filter(diary -> targets.contains(diary.date()))
+                .map(diary -> diary.toView(includeText))
+                .toList();
+    }
+
+    // 달 단위로 필요할 때마다 읽어서 기간 전체를 한꺼번에 메모리에 올리지 않는다
+    public Stream<ArchivedDiary> stream(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return Stream.empty();
+        }
+        return List.copyOf(files.subMap(YearMonth.from(startDate), true, YearMonth.from(endDate), true).values())
+                .stream()
+                .flatMap(file -> readFile(file, startDate, endDate).stream());
+    }
+
+    public List<DiaryConditionCount> countByConditionBetween(LocalDate startDate, LocalDate endDate) {
+        return countByCondition(read(startDate, endDate).stream());
+    }
+
+    public List<DiaryConditionCount> countByConditionIn(Collection<LocalDate> dates) {
+        Set<LocalDate> targets = Set.copyOf(dates);
+        return countByCondition(dates.stream()
+                .filter(this::isArchived)
+                .map(YearMonth::from)
+                .distinct()
+                .flatMap(month -> read(month.atDay(1), month.atEndOfMonth()).stream())
+                .filter(diary -> targets.contains(diary.date())));
+    }
+
+    // diaries 는 (날짜, id) 순으로 정렬되어 있어야 한다. 이미 보관된 id 는 다시 쓰지 않는다
+    public int append(YearMonth month, List<ArchivedDiary> diaries) {
+        try {
+            DiaryArchiveFile file = files.containsKey(month)
+                    ? files.get(month)
+                    : DiaryArchiveFile.open(directory, month);
+            Set<Integer> archivedIds = file.read(month.atDay(1), month.atEndOfMonth()).stream()
+                    .map(ArchivedDiary::id)
+                    .collect(Collectors.toSet());
+            List<ArchivedDiary> appended = diaries.stream()
+                    .filter(diary -> !archivedIds.contains(diary.id()))
+                    .toList();
+            file.append(appended, blockSize);
+            if (!file.isEmpty()) {
+                files.put(month, file);
+            }
+            return appended.size();
+        } catch (IOException e) {
+            logger.error("failed to append diary archive of " + month, e);
+            throw new DiaryException(FAILED_FILE_TRANSFER);
+        }
+    }
+
+    // 핫 테이블과 보관소의 (날짜, id) 순 결과를 합친다. 보관 직후 삭제가 커밋되기 전처럼 같은 id 가 양쪽에 있으면 핫 테이블 쪽을 쓴다
+    public static List<DiaryView> merge(List<DiaryView> hot, List<DiaryView> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<DiaryView> merged = new ArrayList<>(hot.size() + archived.size());
+        merge(hot.iterator(), archived.iterator()).forEachRemaining(merged::add);
+        return merged;
+    }
+
+    public static Stream<DiaryView> merge(Stream<DiaryView> hot, Stream<DiaryView> archived) {
+        Iterator<DiaryView> merged = merge(hot.iterator(), archived.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(hot::close)
+                .onClose(archived::close);
+    }
+
+    private static Iterator<DiaryView> merge(Iterator<DiaryView> hot, Iterator<DiaryView> archived) {
+        return new Iterator<>() {
+            private DiaryView nextHot = advance(hot);
+            private DiaryView nextArchived = advance(archived);
+
+            @Override
+            public boolean hasNext() {
+                return nextHot != null || nextArchived != null;
+            }
+
+            @Override
+            public DiaryView next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                DiaryView result;
+                if (nextArchived == null) {
+                    result = nextHot;
+                    nextHot = advance(hot);
+                    return result;
+                }
+                if (nextHot == null) {
+                    result = nextArchived;
+                    nextArchived = advance(archived);
+                    return result;
+                }
+                int compared = ORDER.compare(nextHot, nextArchived);
+                if (compared <= 0) {
+                    if (compared == 0) {
+                        nextArchived = advance(archived);
+                    }
+                    result = nextHot;
+                    nextHot = advance(hot);
+                } else {
+                    result = nextArchived;
+                    nextArchived = advance(archived);
+                }
+                return result;
+            }
+        };
+    }
+
+    private static DiaryView advance(Iterator<DiaryView> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static List<DiaryConditionCount> countByCondition(Stream<ArchivedDiary> diaries) {
+        Map<ConditionKey, Long> counts = new LinkedHashMap<>();
+        diaries.forEach(diary -> counts.merge(
+                new ConditionKey(diary.city(), diary.date(), diary.weather()), 1L, Long::sum));
+        return counts.entrySet().stream()
+                .map(entry -> new DiaryConditionCount(entry.getKey().city(), entry.getKey().date(),
+                        entry.getKey().weather(), entry.getValue()))
+                .toList();
+    }
+
+    private List<ArchivedDiary> readFile(DiaryArchiveFile file, LocalDate startDate, LocalDate endDate) {
+        try {
+            return file.read(startDate, endDate);
+        } catch (IOException e) {
+            logger.error("failed to read diary archive of " + file.month(), e);
+            throw new DiaryException(FAILED_FILE_TRANSFER);
+        }
+    }
+
+    private record ConditionKey(String city, LocalDate date, String weather) {
+    }
+}
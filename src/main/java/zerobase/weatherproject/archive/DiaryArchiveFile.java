@@ -0,0 +1,264 @@
+package zerobase.weatherproject.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 한 달치 일기를 담는 append-only 보관 파일.
+ * 데이터 파일(yyyy-MM.diary)은 (날짜, id) 순으로 정렬된 일기를 블록 단위로 deflate 압축해서 이어 붙이고,
+ * 색인 파일(yyyy-MM.idx)에는 블록마다 위치와 첫/마지막 날짜만 남기는 sparse index 를 둔다.
+ * 색인은 데이터를 fsync 한 뒤 원자적으로 교체하므로, 색인에 없는 데이터 파일의 꼬리는 다음 추가 때 잘라낸다.
+ */
+public class DiaryArchiveFile {
+
+    private static final int BLOCK_MAGIC = 0x44415243;
+    private static final int HEADER_BYTES = 12;
+    private static final Comparator<ArchivedDiary> ORDER =
+            Comparator.comparing(ArchivedDiary::date).thenComparingInt(ArchivedDiary::id);
+
+    private final YearMonth month;
+    private final Path dataFile;
+    private final Path indexFile;
+
+    private volatile List<Block> blocks;
+
+    private DiaryArchiveFile(YearMonth month, Path dataFile, Path indexFile, List<Block> blocks) {
+        this.month = month;
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.blocks = blocks;
+    }
+
+    public static DiaryArchiveFile open(Path directory, YearMonth month) throws IOException {
+        Path indexFile = directory.resolve(month + ".idx");
+        List<Block> blocks = new ArrayList<>();
+        if (Files.exists(indexFile)) {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    blocks.add(Block.parse(line));
+                }
+            }
+        }
+        return new DiaryArchiveFile(month, directory.resolve(month + ".diary"), indexFile, List.copyOf(blocks));
+    }
+
+    public YearMonth month() {
+        return month;
+    }
+
+    public List<Block> blocks() {
+        return blocks;
+    }
+
+    public boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    // diaries 는 (날짜, id) 순으로 정렬되어 있어야 한다
+    public synchronized void append(List<ArchivedDiary> diaries, int blockSize) throws IOException {
+        if (diaries.isEmpty()) {
+            return;
+        }
+        List<Block> current = blocks;
+        long end = current.isEmpty() ? 0 : current.getLast().offset() + current.getLast().length();
+        List<Block> appended = new ArrayList<>(current);
+
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            channel.truncate(end);
+            channel.position(end);
+            for (int from = 0; from < diaries.size(); from += blockSize) {
+                List<ArchivedDiary> chunk = diaries.subList(from, Math.min(from + blockSize, diaries.size()));
+                ByteBuffer block = ByteBuffer.wrap(encode(chunk));
+                int length = block.remaining();
+                while (block.hasRemaining()) {
+                    channel.write(block);
+                }
+                appended.add(new Block(end, length, chunk.getFirst().date(), chunk.getLast().date(), chunk.size()));
+                end += length;
+            }
+            channel.force(true);
+        }
+
+        writeIndex(appended);
+        blocks = List.copyOf(appended);
+    }
+
+    // 기간과 겹치는 블록만 읽어서 (날짜, id) 순으로 반환한다
+    public List<ArchivedDiary> read(LocalDate startDate, LocalDate endDate) throws IOException {
+        List<ArchivedDiary> diaries = new ArrayList<>();
+        List<Block> current = blocks;
+        if (current.isEmpty()) {
+            return diaries;
+        }
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            for (Block block : current) {
+                if (block.lastDate().isBefore(startDate) || block.firstDate().isAfter(endDate)) {
+                    continue;
+                }
+                for (ArchivedDiary diary : decode(readFully(channel, block))) {
+                    if (!diary.date().isBefore(startDate) && !diary.date().isAfter(endDate)) {
+                        diaries.add(diary);
+                    }
+                }
+            }
+        }
+        // 보관 이후 작성된 일기를 다시 보관하면 블록끼리 날짜가 겹칠 수 있다
+        diaries.sort(ORDER);
+        return diaries;
+    }
+
+    private void writeIndex(List<Block> index) throws IOException {
+        Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        StringBuilder lines = new StringBuilder();
+        index.forEach(block -> lines.append(block.format()).append('\n'));
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines.toString());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, Block block) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(block.length());
+        long position = block.offset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("archive block is truncated at " + block.offset());
+            }
+            position += read;
+        }
+        return buffer.flip();
+    }
+
+    static byte[] encode(List<ArchivedDiary> diaries) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(raw)) {
+            for (ArchivedDiary diary : diaries) {
+                out.writeInt(diary.id());
+                out.writeInt((int) diary.date().toEpochDay());
+                writeString(out, diary.city());
+                writeString(out, diary.weather());
+                writeString(out, diary.icon());
+                out.writeBoolean(diary.temperature() != null);
+                out.writeDouble(diary.temperature() == null ? 0 : diary.temperature());
+                writeString(out, diary.text());
+            }
+        }
+        byte[] uncompressed = raw.toByteArray();
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(uncompressed);
+            deflater.finish();
+            ByteArrayOutputStream block = new ByteArrayOutputStream(uncompressed.length / 3 + HEADER_BYTES);
+            DataOutputStream header = new DataOutputStream(block);
+            header.writeInt(BLOCK_MAGIC);
+            header.writeInt(diaries.size());
+            header.writeInt(uncompressed.length);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                block.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return block.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static List<ArchivedDiary> decode(ByteBuffer block) throws IOException {
+        if (block.getInt() != BLOCK_MAGIC) {
+            throw new IOException("invalid archive block");
+        }
+        int count = block.getInt();
+        byte[] uncompressed = new byte[block.getInt()];
+
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(block);
+            int inflated = 0;
+            while (inflated < uncompressed.length) {
+                int read = inflater.inflate(uncompressed, inflated, uncompressed.length - inflated);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("archive block is truncated");
+                }
+                inflated += read;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("corrupted archive block", e);
+        } finally {
+            inflater.end();
+        }
+
+        List<ArchivedDiary> diaries = new ArrayList<>(count);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(uncompressed))) {
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                LocalDate date = LocalDate.ofEpochDay(in.readInt());
+                String city = readString(in);
+                String weather = readString(in);
+                String icon = readString(in);
+                boolean hasTemperature = in.readBoolean();
+                double temperature = in.readDouble();
+                String text = readString(in);
+                diaries.add(new ArchivedDiary(id, date, city, weather, icon,
+                        hasTemperature ? temperature : null, text));
+            }
+        }
+        return diaries;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    public record Block(long offset, int length, LocalDate firstDate, LocalDate lastDate, int count) {
+
+        static Block parse(String line) {
+            String[] values = line.split(",");
+            return new Block(Long.parseLong(values[0]), Integer.parseInt(values[1]),
+                    LocalDate.parse(values[2]), LocalDate.parse(values[3]), Integer.parseInt(values[4]));
+        }
+
+        String format() {
+            return offset + "," + length + "," + firstDate + "," + lastDate + "," + count;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package zerobase.weatherproject.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 windowSize 번의 호출 중 실패(느린 호출 포함) 비율이 임계치를 넘으면 openDuration 동안 호출을 바로 거절한다.
+ * 그 뒤에는 halfOpenPermits 번만 시험 호출을 허용해서 모두 성공하면 닫고, 하나라도 실패하면 다시 연다.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final boolean[] failures;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenPermits;
+    private final LongSupplier nanoTime;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failureCount;
+    private long openedAtNanos;
+    private int halfOpenIssued;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration slowCallThreshold, Duration openDuration, int halfOpenPermits,
+                          MeterRegistry meterRegistry) {
+        this(name, windowSize, minimumCalls, failureRateThreshold, slowCallThreshold, openDuration,
+                halfOpenPermits, meterRegistry, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                   Duration slowCallThreshold, Duration openDuration, int halfOpenPermits,
+                   MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenPermits < 1
+                || failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("invalid circuit breaker settings");
+        }
+        this.name = name;
+        this.failures = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenPermits = halfOpenPermits;
+        this.nanoTime = nanoTime;
+
+        Gauge.builder("circuit.breaker.state", this, breaker -> breaker.state().ordinal())
+                .description("0=closed, 1=open, 2=half_open")
+                .tag("name", name)
+                .register(meterRegistry);
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("circuit.breaker.calls")
+                    .tag("name", name)
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    // 호출해도 되면 true. true 를 받은 호출은 끝난 뒤 반드시 onSuccess / onFailure 중 하나를 알려야 한다
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && nanoTime.getAsLong() - openedAtNanos >= openNanos) {
+                transitionTo(State.HALF_OPEN);
+            }
+            boolean permitted = state == State.CLOSED
+                    || (state == State.HALF_OPEN && halfOpenIssued < halfOpenPermits);
+            if (state == State.HALF_OPEN && permitted) {
+                halfOpenIssued++;
+            }
+            if (!permitted) {
+                outcomeCounters.get(Outcome.REJECTED).increment();
+            }
+            return permitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        outcomeCounters.get(slow ? Outcome.SLOW : Outcome.SUCCESS).increment();
+        record(slow);
+    }
+
+    public void onFailure() {
+        outcomeCounters.get(Outcome.FAILURE).increment();
+        record(true);
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failed) {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> {
+                    if (recorded == failures.length && failures[next]) {
+                        failureCount--;
+                    }
+                    failures[next] = failed;
+                    if (failed) {
+                        failureCount++;
+                    }
+                    next = (next + 1) % failures.length;
+                    recorded = Math.min(recorded + 1, failures.length);
+                    if (recorded >= minimumCalls && (double) failureCount / recorded >= failureRateThreshold) {
+                        transitionTo(State.OPEN);
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (failed) {
+                        transitionTo(State.OPEN);
+                    } else if (++halfOpenSucceeded >= halfOpenPermits) {
+                        transitionTo(State.CLOSED);
+                    }
+                }
+                case OPEN -> {
+                    // 열리기 전에 시작된 호출의 결과는 무시한다
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transitionTo(State target) {
+        logger.info("circuit breaker " + name + " changed from " + state + " to " + target);
+        state = target;
+        switch (target) {
+            case OPEN -> openedAtNanos = nanoTime.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenIssued = 0;
+                halfOpenSucceeded = 0;
+            }
+            case CLOSED -> {
+                recorded = 0;
+                next = 0;
+                failureCount = 0;
+            }
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS("success"),
+        SLOW("slow"),
+        FAILURE("failure"),
+        REJECTED("rejected");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+}
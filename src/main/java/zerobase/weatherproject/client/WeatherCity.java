@@ -0,0 +1,10 @@
+package zerobase.weatherproject.client;
+
+import java.time.ZoneId;
+
+public record WeatherCity(String name, double lat, double lon, String zone) {
+
+    public ZoneId zoneId() {
+        return ZoneId.of(zone == null ? "Asia/Seoul" : zone);
+    }
+}
@@ -0,0 +1,193 @@
+package zerobase.weatherproject.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.exception.DiaryException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static zerobase.weatherproject.type.ErrorCode.FAILED_API_REQUEST;
+import static zerobase.weatherproject.type.ErrorCode.FAILED_JSON_PARSING;
+import static zerobase.weatherproject.type.ErrorCode.WEATHER_API_UNAVAILABLE;
+
+@Component
+public class WeatherClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeatherClient.class);
+
+    private final HttpClient httpClient;
+    private final WeatherJsonParser weatherJsonParser = new WeatherJsonParser();
+    private final String baseUrl;
+    private final String apiKey;
+    private final Duration readTimeout;
+    private final ObservationRegistry observationRegistry;
+    private final CircuitBreaker circuitBreaker;
+
+    public WeatherClient(@Value("${openweathermap.base-url:https://api.openweathermap.org}") String baseUrl,
+                         @Value("${openweathermap.key}") String apiKey,
+                         @Value("${openweathermap.connect-timeout-millis:2000}") long connectTimeoutMillis,
+                         @Value("${openweathermap.read-timeout-millis:5000}") long readTimeoutMillis,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                         ObservationRegistry observationRegistry,
+                         CircuitBreaker circuitBreaker) {
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+        this.observationRegistry = observationRegistry;
+        this.circuitBreaker = circuitBreaker;
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        if (virtualThreads) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        this.httpClient = builder.build();
+    }
+
+    public CompletableFuture<DateWeather> fetchCurrentWeather(WeatherCity city) {
+        // 서버가 아니라 도시의 현지 날짜로 저장한다
+        LocalDate today = LocalDate.now(city.zoneId());
+        return fetch("current", city, currentWeatherUri(city),
+                body -> withCity(weatherJsonParser.parse(body, today), city));
+    }
+
+    public CompletableFuture<DateWeather> fetchHistoricalWeather(WeatherCity city, LocalDate date) {
+        return fetch("historical", city, timeMachineUri(city, date),
+                body -> withCity(weatherJsonParser.parseTimeMachine(body, date), city));
+    }
+
+    public DateWeather getCurrentWeather(WeatherCity city) {
+        return await(fetchCurrentWeather(city));
+    }
+
+    public DateWeather getHistoricalWeather(WeatherCity city, LocalDate date) {
+        return await(fetchHistoricalWeather(city, date));
+    }
+
+    // 동시에 보내는 요청 수를 maxConcurrency 로 제한하면서 여러 도시의 현재 날씨를 가져온다
+    // 실패한 도시는 로그만 남기고 결과에서 제외한다
+    public List<DateWeather> getCurrentWeathers(List<WeatherCity> cities, int maxConcurrency) {
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        List<CompletableFuture<DateWeather>> futures = new ArrayList<>(cities.size());
+        for (WeatherCity city : cities) {
+            permits.acquireUninterruptibly();
+            futures.add(fetchCurrentWeather(city)
+                    .whenComplete((weather, throwable) -> permits.release()));
+        }
+
+        List<DateWeather> weathers = new ArrayList<>(cities.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                weathers.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                logger.error("failed to fetch weather of " + cities.get(i).name());
+            }
+        }
+        return weathers;
+    }
+
+    // 요청마다 weather.api.request 관측을 남긴다 (지연시간 타이머 + 실패 시 error 태그, 트레이싱 span)
+    // 서킷이 열려 있으면 요청을 보내지 않고 바로 실패한다
+    private CompletableFuture<DateWeather> fetch(String type, WeatherCity city, URI uri, BodyParser bodyParser) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new DiaryException(WEATHER_API_UNAVAILABLE));
+        }
+        long start = System.nanoTime();
+
+        Observation observation = Observation.createNotStarted("weather.api.request", observationRegistry)
+                .lowCardinalityKeyValue("type", type)
+                .lowCardinalityKeyValue("city", city.name())
+                .start();
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        logger.error("weather api request failed", throwable);
+                        throw new DiaryException(FAILED_API_REQUEST);
+                    }
+                    return readWeather(response, bodyParser);
+                })
+                .whenComplete((weather, throwable) -> {
+                    if (throwable == null) {
+                        circuitBreaker.onSuccess(System.nanoTime() - start);
+                    } else {
+                        circuitBreaker.onFailure();
+                        observation.error(throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause() : throwable);
+                    }
+                    observation.stop();
+                });
+    }
+
+    private DateWeather await(CompletableFuture<DateWeather> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DiaryException diaryException) {
+                throw diaryException;
+            }
+            throw new DiaryException(FAILED_API_REQUEST);
+        }
+    }
+
+    private DateWeather readWeather(HttpResponse<InputStream> response, BodyParser bodyParser) {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                logger.error("weather api responded with status " + response.statusCode());
+                throw new DiaryException(FAILED_API_REQUEST);
+            }
+            return bodyParser.parse(body);
+        } catch (JsonProcessingException e) {
+            throw new DiaryException(FAILED_JSON_PARSING);
+        } catch (IOException e) {
+            throw new DiaryException(FAILED_API_REQUEST);
+        }
+    }
+
+    private DateWeather withCity(DateWeather dateWeather, WeatherCity city) {
+        dateWeather.setCity(city.name());
+        return dateWeather;
+    }
+
+    private URI currentWeatherUri(WeatherCity city) {
+        return URI.create(baseUrl + "/data/2.5/weather?lat=" + city.lat()
+                + "&lon=" + city.lon() + "&appid=" + apiKey);
+    }
+
+    private URI timeMachineUri(WeatherCity city, LocalDate date) {
+        long timestamp = date.atTime(LocalTime.NOON).atZone(city.zoneId()).toEpochSecond();
+        return URI.create(baseUrl + "/data/3.0/onecall/timemachine?lat=" + city.lat()
+                + "&lon=" + city.lon() + "&dt=" + timestamp + "&appid=" + apiKey);
+    }
+
+    private interface BodyParser {
+        DateWeather parse(InputStream body) throws IOException;
+    }
+}
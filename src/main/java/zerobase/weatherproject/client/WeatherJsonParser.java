@@ -0,0 +1,149 @@
+package zerobase.weatherproject.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.exception.DiaryException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+import static zerobase.weatherproject.type.ErrorCode.FAILED_JSON_PARSING;
+
+public class WeatherJsonParser {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public DateWeather parse(InputStream inputStream, LocalDate date) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            return parse(parser, date);
+        }
+    }
+
+    public DateWeather parse(byte[] json, LocalDate date) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return parse(parser, date);
+        }
+    }
+
+    public DateWeather parseTimeMachine(InputStream inputStream, LocalDate date) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            return parseTimeMachine(parser, date);
+        }
+    }
+
+    public DateWeather parseTimeMachine(byte[] json, LocalDate date) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return parseTimeMachine(parser, date);
+        }
+    }
+
+    private DateWeather parse(JsonParser parser, LocalDate date) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new DiaryException(FAILED_JSON_PARSING);
+        }
+
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(date);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("main".equals(field) && value == JsonToken.START_OBJECT) {
+                readMain(parser, dateWeather);
+            } else if ("weather".equals(field) && value == JsonToken.START_ARRAY) {
+                readFirstWeather(parser, dateWeather);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (dateWeather.getWeather() == null || dateWeather.getTemperature() == null) {
+            throw new DiaryException(FAILED_JSON_PARSING);
+        }
+        return dateWeather;
+    }
+
+    // One Call timemachine 응답은 data[0] 안에 temp 와 weather 배열이 함께 들어있다
+    private DateWeather parseTimeMachine(JsonParser parser, LocalDate date) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new DiaryException(FAILED_JSON_PARSING);
+        }
+
+        DateWeather dateWeather = new DateWeather();
+        dateWeather.setDate(date);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                JsonToken element = parser.nextToken();
+                if (element == JsonToken.START_OBJECT) {
+                    readDataPoint(parser, dateWeather);
+                    element = parser.nextToken();
+                }
+                while (element != null && element != JsonToken.END_ARRAY) {
+                    parser.skipChildren();
+                    element = parser.nextToken();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (dateWeather.getWeather() == null || dateWeather.getTemperature() == null) {
+            throw new DiaryException(FAILED_JSON_PARSING);
+        }
+        return dateWeather;
+    }
+
+    private void readDataPoint(JsonParser parser, DateWeather dateWeather) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("temp".equals(field) && value.isNumeric()) {
+                dateWeather.setTemperature(parser.getDoubleValue());
+            } else if ("weather".equals(field) && value == JsonToken.START_ARRAY) {
+                readFirstWeather(parser, dateWeather);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readMain(JsonParser parser, DateWeather dateWeather) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("temp".equals(field) && value.isNumeric()) {
+                dateWeather.setTemperature(parser.getDoubleValue());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readFirstWeather(JsonParser parser, DateWeather dateWeather) throws IOException {
+        JsonToken element = parser.nextToken();
+        if (element == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("main".equals(field) && value == JsonToken.VALUE_STRING) {
+                    dateWeather.setWeather(parser.getText());
+                } else if ("icon".equals(field) && value == JsonToken.VALUE_STRING) {
+                    dateWeather.setIcon(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            element = parser.nextToken();
+        }
+        while (element != null && element != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            element = parser.nextToken();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package zerobase.weatherproject.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Accept 헤더로 고를 수 있는 응답 형식을 추가한다.
+ * application/x-jackson-smile, application/cbor 는 JSON 과 같은 구조의 바이너리 인코딩이고,
+ * application/vnd.diary.columnar+json 은 일기 목록을 날짜·날씨별로 묶은 열 지향 JSON 이다.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public BinaryFormatConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 기본으로 등록되는 Smile/CBOR 컨버터는 Boot 의 ObjectMapper 설정(날짜 형식 등)을 따르지 않아서 교체한다
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory())));
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory())));
+        // +json 을 처리하는 기본 JSON 컨버터보다 먼저 검사되어야 한다
+        converters.add(0, new DiaryColumnarHttpMessageConverter(objectMapper));
+    }
+}
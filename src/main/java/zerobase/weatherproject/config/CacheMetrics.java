@@ -0,0 +1,61 @@
+package zerobase.weatherproject.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import zerobase.weatherproject.service.DateWeatherCache;
+import zerobase.weatherproject.service.DateWeatherSecondLevelCache;
+import zerobase.weatherproject.service.DiaryQueryCache;
+
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    private final DiaryQueryCache diaryQueryCache;
+    private final DateWeatherCache dateWeatherCache;
+    private final DateWeatherSecondLevelCache dateWeatherSecondLevelCache;
+
+    public CacheMetrics(DiaryQueryCache diaryQueryCache, DateWeatherCache dateWeatherCache,
+                        DateWeatherSecondLevelCache dateWeatherSecondLevelCache) {
+        this.diaryQueryCache = diaryQueryCache;
+        this.dateWeatherCache = dateWeatherCache;
+        this.dateWeatherSecondLevelCache = dateWeatherSecondLevelCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", diaryQueryCache, cache -> cache.stats().hitCount())
+                .tags("cache", "diary", "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", diaryQueryCache, cache -> cache.stats().missCount())
+                .tags("cache", "diary", "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", diaryQueryCache, cache -> cache.stats().evictionCount())
+                .tag("cache", "diary").register(registry);
+        FunctionCounter.builder("cache.invalidations", diaryQueryCache, cache -> cache.stats().invalidationCount())
+                .tag("cache", "diary").register(registry);
+        Gauge.builder("cache.size", diaryQueryCache, cache -> cache.stats().size())
+                .tag("cache", "diary").register(registry);
+        Gauge.builder("cache.estimated.bytes", diaryQueryCache, cache -> cache.stats().estimatedBytes())
+                .tag("cache", "diary").baseUnit("bytes").register(registry);
+
+        FunctionCounter.builder("cache.gets", dateWeatherCache, cache -> cache.stats().hitCount())
+                .tags("cache", "dateWeather", "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", dateWeatherCache, cache -> cache.stats().missCount())
+                .tags("cache", "dateWeather", "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", dateWeatherCache, cache -> cache.stats().evictionCount())
+                .tag("cache", "dateWeather").register(registry);
+        FunctionCounter.builder("cache.load.failures", dateWeatherCache, cache -> cache.stats().loadFailureCount())
+                .tag("cache", "dateWeather").register(registry);
+        Gauge.builder("cache.size", dateWeatherCache, cache -> cache.stats().size())
+                .tag("cache", "dateWeather").register(registry);
+
+        FunctionCounter.builder("cache.gets", dateWeatherSecondLevelCache, cache -> cache.stats().hitCount())
+                .tags("cache", "dateWeatherSecondLevel", "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", dateWeatherSecondLevelCache, cache -> cache.stats().missCount())
+                .tags("cache", "dateWeatherSecondLevel", "result", "miss").register(registry);
+        FunctionCounter.builder("cache.puts", dateWeatherSecondLevelCache, cache -> cache.stats().putCount())
+                .tag("cache", "dateWeatherSecondLevel").register(registry);
+        Gauge.builder("cache.size", dateWeatherSecondLevelCache, cache -> cache.stats().elementCountInMemory())
+                .tag("cache", "dateWeatherSecondLevel").register(registry);
+    }
+}
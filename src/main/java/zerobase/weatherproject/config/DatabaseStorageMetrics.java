@@ -0,0 +1,70 @@
+package zerobase.weatherproject.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 본문 분리·압축 전후를 비교하기 위한 MySQL 저장소 지표. 테이블별 평균 행 크기와 InnoDB 버퍼 풀 적중률을 스크랩 시점에 조회한다.
+ * MySQL 이 아니거나 권한이 없으면 NaN 으로 남는다.
+ */
+@Component
+public class DatabaseStorageMetrics implements MeterBinder {
+
+    private static final List<String> TABLES = List.of("diary", "diary_text");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseStorageMetrics(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String table : TABLES) {
+            Gauge.builder("db.table.avg.row.length", this, metrics -> metrics.tableStat(table, "avg_row_length"))
+                    .tag("table", table).baseUnit("bytes").register(registry);
+            Gauge.builder("db.table.data.length", this, metrics -> metrics.tableStat(table, "data_length"))
+                    .tag("table", table).baseUnit("bytes").register(registry);
+        }
+        Gauge.builder("db.innodb.buffer.pool.hit.ratio", this, DatabaseStorageMetrics::bufferPoolHitRatio)
+                .register(registry);
+    }
+
+    double tableStat(String table, String column) {
+        try {
+            Double value = jdbcTemplate.queryForObject("select " + column + " from information_schema.tables"
+                    + " where table_schema = database() and table_name = ?", Double.class, table);
+            return value == null ? Double.NaN : value;
+        } catch (DataAccessException e) {
+            return Double.NaN;
+        }
+    }
+
+    // 디스크에서 읽은 페이지 수 / 논리적 페이지 요청 수 로 계산한다
+    double bufferPoolHitRatio() {
+        try {
+            Map<String, Double> status = new HashMap<>();
+            jdbcTemplate.query("show global status like 'Innodb_buffer_pool_read%'",
+                    row -> {
+                        status.put(row.getString(1), row.getDouble(2));
+                    });
+            Double requests = status.get("Innodb_buffer_pool_read_requests");
+            Double reads = status.get("Innodb_buffer_pool_reads");
+            if (requests == null || reads == null || requests == 0) {
+                return Double.NaN;
+            }
+            return 1.0 - reads / requests;
+        } catch (DataAccessException e) {
+            return Double.NaN;
+        }
+    }
+}
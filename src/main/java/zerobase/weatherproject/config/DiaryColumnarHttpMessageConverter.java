@@ -0,0 +1,84 @@
+package zerobase.weatherproject.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import zerobase.weatherproject.dto.DiaryColumns;
+import zerobase.weatherproject.dto.DiaryView;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * List&lt;DiaryView&gt; 응답을 Accept 에 application/vnd.diary.columnar+json 을 명시한 경우에만
+ * {@link DiaryColumns} 형태로 내보낸다. 기본 협상(Accept 생략, *&#47;*)에는 참여하지 않는다.
+ */
+public class DiaryColumnarHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_DIARY_COLUMNAR =
+            MediaType.parseMediaType("application/vnd.diary.columnar+json");
+
+    private final ObjectWriter writer;
+
+    public DiaryColumnarHttpMessageConverter(ObjectMapper objectMapper) {
+        super(APPLICATION_DIARY_COLUMNAR);
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return mediaType != null
+                && APPLICATION_DIARY_COLUMNAR.isCompatibleWith(mediaType)
+                && !mediaType.isWildcardSubtype()
+                && isDiaryViewList(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object views, Type type, HttpOutputMessage outputMessage) throws IOException {
+        writer.writeValue(outputMessage.getBody(), DiaryColumns.of((List<DiaryView>) views));
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("columnar diary format is response only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("columnar diary format is response only", inputMessage);
+    }
+
+    private static boolean isDiaryViewList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() == List.class
+                && parameterized.getActualTypeArguments()[0] == DiaryView.class;
+    }
+}
@@ -0,0 +1,73 @@
+package zerobase.weatherproject.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import zerobase.weatherproject.routing.ReadYourWritesFilter;
+import zerobase.weatherproject.routing.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * diary.datasource.routing-enabled=true 일 때만 기본 DataSource 를 primary/replica 라우팅 DataSource 로 바꾼다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "diary.datasource", name = "routing-enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaRoutingProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            replicas.add(replicaDataSource(primaryDataSource, properties.replicas().get(i), i));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.loadBalancing(),
+                meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesFilter(Duration.ofMillis(properties.readYourWritesWindowMillis()),
+                properties.readYourWritesSecret());
+    }
+
+    private static HikariDataSource replicaDataSource(HikariDataSource primary,
+                                                      ReplicaRoutingProperties.Replica replica,
+                                                      int index) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + index);
+        dataSource.setJdbcUrl(replica.url());
+        dataSource.setUsername(replica.username() == null ? primary.getUsername() : replica.username());
+        dataSource.setPassword(replica.password() == null ? primary.getPassword() : replica.password());
+        dataSource.setMaximumPoolSize(replica.maximumPoolSize() == null
+                ? primary.getMaximumPoolSize() : replica.maximumPoolSize());
+        dataSource.setConnectionTimeout(primary.getConnectionTimeout());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,30 @@
+package zerobase.weatherproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import zerobase.weatherproject.routing.ReplicaLoadBalancing;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "diary.datasource")
+public record ReplicaRoutingProperties(boolean routingEnabled,
+                                       List<Replica> replicas,
+                                       ReplicaLoadBalancing loadBalancing,
+                                       long readYourWritesWindowMillis,
+                                       String readYourWritesSecret) {
+
+    public ReplicaRoutingProperties {
+        if (replicas == null) {
+            replicas = List.of();
+        }
+        if (loadBalancing == null) {
+            loadBalancing = ReplicaLoadBalancing.ROUND_ROBIN;
+        }
+        if (readYourWritesWindowMillis <= 0) {
+            readYourWritesWindowMillis = 3000;
+        }
+    }
+
+    // 계정이나 풀 크기를 비워두면 primary(spring.datasource) 설정을 그대로 따른다
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
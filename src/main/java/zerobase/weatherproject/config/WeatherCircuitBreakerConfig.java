@@ -0,0 +1,27 @@
+package zerobase.weatherproject.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import zerobase.weatherproject.client.CircuitBreaker;
+
+import java.time.Duration;
+
+@Configuration
+public class WeatherCircuitBreakerConfig {
+
+    @Bean
+    public CircuitBreaker weatherCircuitBreaker(
+            @Value("${weather.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${weather.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${weather.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${weather.circuit-breaker.slow-call-millis:3000}") long slowCallMillis,
+            @Value("${weather.circuit-breaker.open-millis:30000}") long openMillis,
+            @Value("${weather.circuit-breaker.half-open-permits:3}") int halfOpenPermits,
+            MeterRegistry meterRegistry) {
+        return new CircuitBreaker("weather-api", windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofMillis(slowCallMillis), Duration.ofMillis(openMillis), halfOpenPermits,
+                meterRegistry);
+    }
+}
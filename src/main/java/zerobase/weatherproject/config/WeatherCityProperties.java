@@ -0,0 +1,31 @@
+package zerobase.weatherproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import zerobase.weatherproject.client.WeatherCity;
+import zerobase.weatherproject.exception.DiaryException;
+
+import java.util.List;
+
+import static zerobase.weatherproject.type.ErrorCode.UNSUPPORTED_CITY;
+
+@ConfigurationProperties(prefix = "weather")
+public record WeatherCityProperties(String defaultCity, List<WeatherCity> cities) {
+
+    public WeatherCityProperties {
+        if (cities == null || cities.isEmpty()) {
+            cities = List.of(new WeatherCity("seoul", 37.5665, 126.9780, "Asia/Seoul"));
+        }
+        if (defaultCity == null || defaultCity.isBlank()) {
+            defaultCity = cities.getFirst().name();
+        }
+    }
+
+    // 도시를 지정하지 않은 요청은 기본 도시로 처리한다
+    public WeatherCity resolve(String city) {
+        String name = city == null || city.isBlank() ? defaultCity : city.trim();
+        return cities.stream()
+                .filter(candidate -> candidate.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new DiaryException(UNSUPPORTED_CITY));
+    }
+}
@@ -0,0 +1,95 @@
+package zerobase.weatherproject.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 임계값보다 긴 본문은 deflate 로 압축해서 저장한다.
+ * 압축한 값은 UTF-8 에 나올 수 없는 0xFF 로 시작하므로, 압축하지 않은 값(기존 데이터 포함)은 그대로 UTF-8 로 읽는다.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    private static final byte COMPRESSED_MARKER = (byte) 0xFF;
+
+    @Value("${diary.text.compression-threshold-bytes:1024}")
+    private int thresholdBytes = 1024;
+
+    public CompressedTextConverter() {
+    }
+
+    CompressedTextConverter(int thresholdBytes) {
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < thresholdBytes) {
+            return raw;
+        }
+        byte[] compressed = deflate(raw);
+        // 압축해도 줄어들지 않는 본문은 원문으로 둔다
+        return compressed.length < raw.length ? compressed : raw;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.length == 0 || value[0] != COMPRESSED_MARKER) {
+            return new String(value, StandardCharsets.UTF_8);
+        }
+        return new String(inflate(value), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            out.write(COMPRESSED_MARKER);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] value) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(Arrays.copyOfRange(value, 1, value.length));
+            ByteArrayOutputStream out = new ByteArrayOutputStream(value.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("truncated compressed diary text");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupted compressed diary text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
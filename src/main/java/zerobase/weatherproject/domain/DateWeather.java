@@ -1,24 +1,79 @@
 package zerobase.weatherproject.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity(name = "date_weather")
-public class DateWeather {
+@IdClass(DateWeatherId.class)
+// 한 번 저장된 (도시, 날짜) 의 날씨는 바뀌지 않아서 읽기 전용 2차 캐시에 둔다
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = DateWeather.CACHE_REGION)
+public class DateWeather implements Persistable<DateWeatherId> {
 
+    public static final String CACHE_REGION = "dateWeather";
+
+    @Id
+    private String city;
     @Id
     private LocalDate date;
     private String weather;
     private String icon;
     private Double temperature;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    // API 장애로 가장 최근에 저장된 다른 날짜의 날씨를 대신 사용한 경우
+    @Transient
+    private boolean stale;
+
+    public DateWeather(String city, LocalDate date, String weather, String icon, Double temperature) {
+        this.city = city;
+        this.date = date;
+        this.weather = weather;
+        this.icon = icon;
+        this.temperature = temperature;
+    }
+
+    public DateWeather asStaleFor(LocalDate targetDate) {
+        DateWeather substitute = new DateWeather(city, targetDate, weather, icon, temperature);
+        substitute.stale = true;
+        return substitute;
+    }
+
+    @Override
+    public DateWeatherId getId() {
+        return new DateWeatherId(city, date);
+    }
+
+    // 도시와 날짜를 직접 지정하는 엔티티라서 merge 전 select 없이 persist(배치 insert) 되도록 신규 여부를 직접 관리한다
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
@@ -4,6 +4,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,19 +19,26 @@ import java.time.LocalDate;
 public class Diary {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "diary_seq")
+    @SequenceGenerator(name = "diary_seq", sequenceName = "diary_seq", allocationSize = 50)
     private int id;
+    // 본문은 diary_text 테이블에 따로 저장한다 (DiaryRepositoryCustomImpl 참고)
+    @Transient
     private String text;
     private String weather;
     private String icon;
     private Double temperature;
     private LocalDate date;
+    private String city;
+    private boolean weatherStale;
 
     public void setDateWeather(DateWeather dateWeather) {
         this.date = dateWeather.getDate();
+        this.city = dateWeather.getCity();
         this.weather = dateWeather.getWeather();
         this.icon = dateWeather.getIcon();
         this.temperature = dateWeather.getTemperature();
+        this.weatherStale = dateWeather.isStale();
     }
 
 }
@@ -0,0 +1,33 @@
+package zerobase.weatherproject.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 일기 본문. diary 테이블의 행을 작게 유지하려고 별도 테이블에 두고, 본문이 필요한 조회에서만 조인한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "diary_text")
+public class DiaryText {
+
+    @Id
+    private int diaryId;
+
+    @Column(columnDefinition = "mediumblob")
+    @Convert(converter = CompressedTextConverter.class)
+    private String body;
+
+    public DiaryText(int diaryId, String body) {
+        this.diaryId = diaryId;
+        this.body = body;
+    }
+}
@@ -0,0 +1,24 @@
+package zerobase.weatherproject.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "weather_backfill_checkpoint")
+public class WeatherBackfillCheckpoint {
+
+    @Id
+    private String jobKey;
+    private LocalDate lastCompletedDate;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package zerobase.weatherproject.dto;
+
+import java.time.YearMonth;
+
+public record ArchiveResult(
+        YearMonth month,
+        int archived,
+        int deleted,
+        boolean skipped,
+        long elapsedMillis) {
+}
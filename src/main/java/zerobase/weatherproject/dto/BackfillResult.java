@@ -0,0 +1,16 @@
+package zerobase.weatherproject.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BackfillResult(
+        String jobKey,
+        String city,
+        LocalDate resumedFrom,
+        LocalDate endDate,
+        int alreadyPresent,
+        int fetched,
+        List<LocalDate> failedDates,
+        LocalDate checkpoint,
+        long elapsedMillis) {
+}
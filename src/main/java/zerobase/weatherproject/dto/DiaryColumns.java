@@ -0,0 +1,68 @@
+package zerobase.weatherproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 같은 날짜·같은 날씨의 일기를 묶어서 날씨 정보는 한 번만, id 와 본문은 배열로 담는 열 지향 응답.
+ */
+public record DiaryColumns(List<Group> groups) {
+
+    public static DiaryColumns of(List<DiaryView> views) {
+        List<Group> groups = new ArrayList<>();
+        int from = 0;
+        for (int i = 1; i <= views.size(); i++) {
+            if (i == views.size() || !sameWeather(views.get(from), views.get(i))) {
+                groups.add(Group.of(views.subList(from, i)));
+                from = i;
+            }
+        }
+        return new DiaryColumns(groups);
+    }
+
+    public List<DiaryView> toViews() {
+        List<DiaryView> views = new ArrayList<>();
+        for (Group group : groups) {
+            for (int i = 0; i < group.ids().length; i++) {
+                views.add(new DiaryView(group.ids()[i], group.texts() == null ? null : group.texts().get(i),
+                        group.weather(), group.icon(), group.temperature(), group.date()));
+            }
+        }
+        return views;
+    }
+
+    private static boolean sameWeather(DiaryView first, DiaryView other) {
+        return first.date().equals(other.date())
+                && Objects.equals(first.weather(), other.weather())
+                && Objects.equals(first.icon(), other.icon())
+                && Objects.equals(first.temperature(), other.temperature());
+    }
+
+    public record Group(
+            LocalDate date,
+            String weather,
+            String icon,
+            Double temperature,
+            int[] ids,
+            @JsonInclude(JsonInclude.Include.NON_NULL) List<String> texts) {
+
+        // 본문을 제외한 조회처럼 묶음 안에 본문이 하나도 없으면 texts 를 통째로 생략한다
+        static Group of(List<DiaryView> views) {
+            DiaryView first = views.getFirst();
+            int[] ids = new int[views.size()];
+            List<String> texts = views.stream().anyMatch(view -> view.text() != null)
+                    ? new ArrayList<>(views.size()) : null;
+            for (int i = 0; i < views.size(); i++) {
+                ids[i] = views.get(i).id();
+                if (texts != null) {
+                    texts.add(views.get(i).text());
+                }
+            }
+            return new Group(first.date(), first.weather(), first.icon(), first.temperature(), ids, texts);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package zerobase.weatherproject.dto;
+
+import java.time.LocalDate;
+
+public record DiaryConditionCount(String city, LocalDate date, String weather, Long count) {
+}
@@ -0,0 +1,14 @@
+package zerobase.weatherproject.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+public record DiaryCreateRequest(
+        @Schema(description = "생성할 날짜", example = "2024-11-04")
+        LocalDate date,
+        @Schema(description = "일기 텍스트", example = "오늘의 일기")
+        String text,
+        @Schema(description = "일기를 작성한 도시 (생략 시 기본 도시)", example = "seoul")
+        String city) {
+}
@@ -0,0 +1,26 @@
+package zerobase.weatherproject.dto;
+
+import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.type.DiaryCreateStatus;
+import zerobase.weatherproject.type.ErrorCode;
+
+import java.time.LocalDate;
+
+public record DiaryCreateResult(
+        int index,
+        LocalDate date,
+        DiaryCreateStatus status,
+        Integer id,
+        ErrorCode errorCode,
+        String message) {
+
+    public static DiaryCreateResult created(int index, Diary diary) {
+        return new DiaryCreateResult(index, diary.getDate(), DiaryCreateStatus.CREATED,
+                diary.getId(), null, null);
+    }
+
+    public static DiaryCreateResult failed(int index, LocalDate date, ErrorCode errorCode) {
+        return new DiaryCreateResult(index, date, DiaryCreateStatus.FAILED,
+                null, errorCode, errorCode.getDescription());
+    }
+}
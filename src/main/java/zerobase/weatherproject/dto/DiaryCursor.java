@@ -0,0 +1,33 @@
+package zerobase.weatherproject.dto;
+
+import zerobase.weatherproject.exception.DiaryException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static zerobase.weatherproject.type.ErrorCode.INVALID_PARAMETER_ERROR;
+
+public record DiaryCursor(LocalDate date, int id) {
+
+    public static DiaryCursor of(DiaryView diary) {
+        return new DiaryCursor(diary.date(), diary.id());
+    }
+
+    public static DiaryCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('_');
+            return new DiaryCursor(LocalDate.parse(decoded.substring(0, separator)),
+                    Integer.parseInt(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new DiaryException(INVALID_PARAMETER_ERROR);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((date + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,6 @@
+package zerobase.weatherproject.dto;
+
+import java.util.List;
+
+public record DiaryPage(List<DiaryView> content, String nextCursor) {
+}
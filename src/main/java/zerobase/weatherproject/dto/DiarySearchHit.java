@@ -0,0 +1,6 @@
+package zerobase.weatherproject.dto;
+
+import java.time.LocalDate;
+
+public record DiarySearchHit(int id, LocalDate date, double score) {
+}
@@ -0,0 +1,20 @@
+package zerobase.weatherproject.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조회 기간의 버전(날짜별 버전의 합)과 마지막 수정 시각. 쓰기마다 버전이 증가하므로 값이 같으면 응답도 같다.
+ */
+public record DiaryVersion(long version, LocalDateTime lastModified) {
+
+    // 형식(JSON, Smile, CBOR, 열 지향 JSON)마다 본문이 다르므로 협상된 형식도 태그에 넣는다
+    public String etag(boolean includeText, String format) {
+        return "\"v" + version + (includeText ? "-full" : "-summary") + "-" + format + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null
+                ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
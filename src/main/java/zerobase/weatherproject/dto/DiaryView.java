@@ -0,0 +1,28 @@
+package zerobase.weatherproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import zerobase.weatherproject.domain.Diary;
+
+import java.time.LocalDate;
+
+public record DiaryView(
+        int id,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String text,
+        String weather,
+        String icon,
+        Double temperature,
+        LocalDate date) {
+
+    public DiaryView(int id, String weather, String icon, Double temperature, LocalDate date) {
+        this(id, null, weather, icon, temperature, date);
+    }
+
+    public DiaryView withoutText() {
+        return text == null ? this : new DiaryView(id, weather, icon, temperature, date);
+    }
+
+    public static DiaryView of(Diary diary) {
+        return new DiaryView(diary.getId(), diary.getText(), diary.getWeather(),
+                diary.getIcon(), diary.getTemperature(), diary.getDate());
+    }
+}
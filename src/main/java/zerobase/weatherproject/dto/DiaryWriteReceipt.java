@@ -0,0 +1,32 @@
+package zerobase.weatherproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import zerobase.weatherproject.type.DiaryCreateStatus;
+import zerobase.weatherproject.type.ErrorCode;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DiaryWriteReceipt(
+        String requestId,
+        DiaryCreateStatus status,
+        Integer id,
+        ErrorCode errorCode,
+        String message) {
+
+    public static DiaryWriteReceipt queued(String requestId) {
+        return new DiaryWriteReceipt(requestId, DiaryCreateStatus.QUEUED, null, null, null);
+    }
+
+    public static DiaryWriteReceipt rejected(String requestId, ErrorCode errorCode) {
+        return new DiaryWriteReceipt(requestId, DiaryCreateStatus.REJECTED, null,
+                errorCode, errorCode.getDescription());
+    }
+
+    public static DiaryWriteReceipt of(String requestId, DiaryCreateResult result) {
+        return new DiaryWriteReceipt(requestId, result.status(), result.id(),
+                result.errorCode(), result.message());
+    }
+
+    public boolean accepted() {
+        return status != DiaryCreateStatus.REJECTED;
+    }
+}
@@ -0,0 +1,10 @@
+package zerobase.weatherproject.dto;
+
+import java.time.LocalDate;
+
+public record PendingDiary(String requestId, LocalDate date, String city, String text) {
+
+    public DiaryCreateRequest toRequest() {
+        return new DiaryCreateRequest(date, text, city);
+    }
+}
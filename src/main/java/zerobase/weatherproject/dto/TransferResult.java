@@ -0,0 +1,15 @@
+package zerobase.weatherproject.dto;
+
+public record TransferResult(
+        String table,
+        String format,
+        String file,
+        boolean gzip,
+        boolean completed,
+        long rows,
+        long startOffset,
+        long endOffset,
+        long fileBytes,
+        long elapsedMillis,
+        double rowsPerSecond) {
+}
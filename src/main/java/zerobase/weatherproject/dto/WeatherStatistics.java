@@ -0,0 +1,18 @@
+package zerobase.weatherproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+public record WeatherStatistics(
+        String city,
+        int year,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Integer month,
+        int weatherDays,
+        Double averageTemperature,
+        Double minTemperature,
+        Double maxTemperature,
+        Map<String, Integer> weatherConditions,
+        long diaryCount,
+        Map<String, Long> diaryCountsByCondition) {
+}
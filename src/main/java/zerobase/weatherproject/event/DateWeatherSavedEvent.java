@@ -0,0 +1,19 @@
+package zerobase.weatherproject.event;
+
+import zerobase.weatherproject.domain.DateWeather;
+
+import java.util.List;
+
+/**
+ * 새로 저장된 날짜별 날씨. 커밋 이후 통계 집계에 반영한다.
+ */
+public record DateWeatherSavedEvent(List<DateWeather> weathers) {
+
+    public static DateWeatherSavedEvent of(DateWeather weather) {
+        return new DateWeatherSavedEvent(List.of(weather));
+    }
+
+    public static DateWeatherSavedEvent of(List<DateWeather> weathers) {
+        return new DateWeatherSavedEvent(List.copyOf(weathers));
+    }
+}
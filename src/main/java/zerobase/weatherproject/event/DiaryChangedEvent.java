@@ -0,0 +1,19 @@
+package zerobase.weatherproject.event;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 일기가 생성/수정/삭제된 날짜들. 커밋 이후 캐시 무효화 등에 사용한다.
+ */
+public record DiaryChangedEvent(Set<LocalDate> dates) {
+
+    public static DiaryChangedEvent of(LocalDate date) {
+        return new DiaryChangedEvent(Set.of(date));
+    }
+
+    public static DiaryChangedEvent of(Collection<LocalDate> dates) {
+        return new DiaryChangedEvent(Set.copyOf(dates));
+    }
+}
@@ -1,13 +1,42 @@
 package zerobase.weatherproject.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.DateWeatherId;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface DateWeatherRepository extends JpaRepository<DateWeather, LocalDate> {
-    List<DateWeather> findAllByDate(LocalDate date);
+public interface DateWeatherRepository extends JpaRepository<DateWeather, DateWeatherId> {
+
+    @Query("select w.city from date_weather w where w.date = :date")
+    List<String> findCitiesByDate(@Param("date") LocalDate date);
+
+    @Query("select w.date from date_weather w where w.city = :city and w.date between :startDate and :endDate")
+    List<LocalDate> findDatesBetween(@Param("city") String city,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select w.city, w.date, w.weather, w.icon, w.temperature from date_weather w order by w.city, w.date")
+    Stream<Object[]> streamExportRows();
+
+    Optional<DateWeather> findTopByCityAndDateLessThanEqualOrderByDateDesc(String city, LocalDate date);
+
+    List<DateWeather> findAllByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("select min(w.date) from date_weather w")
+    LocalDate findFirstDate();
+
+    @Query("select max(w.date) from date_weather w")
+    LocalDate findLastDate();
 }
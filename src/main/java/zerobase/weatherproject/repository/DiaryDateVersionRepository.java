@@ -0,0 +1,26 @@
+package zerobase.weatherproject.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import zerobase.weatherproject.domain.DiaryDateVersion;
+import zerobase.weatherproject.dto.DiaryVersion;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface DiaryDateVersionRepository extends JpaRepository<DiaryDateVersion, LocalDate> {
+
+    @Modifying
+    @Query(value = "insert into diary_date_version (date, version, last_modified) values (:date, 1, :now)"
+            + " on duplicate key update version = version + 1, last_modified = :now", nativeQuery = true)
+    int increment(@Param("date") LocalDate date, @Param("now") LocalDateTime now);
+
+    @Query("select new zerobase.weatherproject.dto.DiaryVersion(coalesce(sum(v.version), 0L), max(v.lastModified))"
+            + " from diary_date_version v where v.date between :startDate and :endDate")
+    DiaryVersion findVersionBetween(@Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+}
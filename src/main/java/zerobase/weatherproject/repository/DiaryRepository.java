@@ -1,21 +1,147 @@
 package zerobase.weatherproject.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import zerobase.weatherproject.domain.DateWeatherId;
 import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.dto.DiaryConditionCount;
+import zerobase.weatherproject.dto.DiaryView;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface DiaryRepository extends JpaRepository<Diary, Integer> {
-    List<Diary> findAllByDate(LocalDate localDate);
+public interface DiaryRepository extends JpaRepository<Diary, Integer>, DiaryRepositoryCustom {
+    // 본문이 필요한 조회만 diary_text 를 조인한다
+    String VIEW = "select new zerobase.weatherproject.dto.DiaryView("
+            + "d.id, t.body, d.weather, d.icon, d.temperature, d.date)"
+            + " from Diary d left join DiaryText t on t.diaryId = d.id ";
+    String SUMMARY = "select new zerobase.weatherproject.dto.DiaryView("
+            + "d.id, d.weather, d.icon, d.temperature, d.date) from Diary d ";
 
-    List<Diary> findAllByDateBetween(LocalDate startDate, LocalDate endDate);
+    @Query(VIEW + "where d.date = :date order by d.id")
+    List<DiaryView> findViewsByDate(@Param("date") LocalDate date);
 
-    Diary getFirstByDate(LocalDate date);
+    @Query(SUMMARY + "where d.date = :date order by d.id")
+    List<DiaryView> findSummariesByDate(@Param("date") LocalDate date);
+
+    @Query(VIEW + "where d.date between :startDate and :endDate order by d.date, d.id")
+    List<DiaryView> findViewsByDateBetween(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+
+    @Query(VIEW + "where d.date in :dates order by d.date, d.id")
+    List<DiaryView> findViewsByDateIn(@Param("dates") Collection<LocalDate> dates);
+
+    @Query(SUMMARY + "where d.date between :startDate and :endDate order by d.date, d.id")
+    List<DiaryView> findSummariesByDateBetween(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    @Query(VIEW + "where d.date between :startDate and :endDate order by d.date, d.id")
+    List<DiaryView> findFirstPage(@Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate,
+                                  Pageable pageable);
+
+    @Query(VIEW + "where d.date between :startDate and :endDate"
+            + " and (d.date > :afterDate or (d.date = :afterDate and d.id > :afterId))"
+            + " order by d.date, d.id")
+    List<DiaryView> findPageAfter(@Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate,
+                                  @Param("afterDate") LocalDate afterDate,
+                                  @Param("afterId") int afterId,
+                                  Pageable pageable);
+
+    @Query(SUMMARY + "where d.date between :startDate and :endDate order by d.date, d.id")
+    List<DiaryView> findFirstSummaryPage(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         Pageable pageable);
+
+    @Query(SUMMARY + "where d.date between :startDate and :endDate"
+            + " and (d.date > :afterDate or (d.date = :afterDate and d.id > :afterId))"
+            + " order by d.date, d.id")
+    List<DiaryView> findSummaryPageAfter(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         @Param("afterDate") LocalDate afterDate,
+                                         @Param("afterId") int afterId,
+                                         Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW + "where d.date between :startDate and :endDate order by d.date, d.id")
+    Stream<DiaryView> streamViewsByDateBetween(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY + "where d.date between :startDate and :endDate order by d.date, d.id")
+    Stream<DiaryView> streamSummariesByDateBetween(@Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW + "order by d.id")
+    Stream<DiaryView> streamAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select d.id, d.date, d.city, d.weather, d.icon, d.temperature, t.body"
+            + " from Diary d left join DiaryText t on t.diaryId = d.id order by d.id")
+    Stream<Object[]> streamExportRows();
+
+    @Query("select d.id, d.date, d.city, d.weather, d.icon, d.temperature, t.body"
+            + " from Diary d left join DiaryText t on t.diaryId = d.id"
+            + " where d.date between :startDate and :endDate order by d.date, d.id")
+    List<Object[]> findExportRowsBetween(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    @Query("select count(d) > 0 from Diary d where d.weatherStale = true"
+            + " and d.date between :startDate and :endDate")
+    boolean existsStaleWeatherBetween(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    @Query("select distinct d.date from Diary d where d.date between :startDate and :endDate")
+    List<LocalDate> findDatesBetween(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    @Query("select new zerobase.weatherproject.dto.DiaryConditionCount(d.city, d.date, d.weather, count(d))"
+            + " from Diary d where d.date between :startDate and :endDate group by d.city, d.date, d.weather")
+    List<DiaryConditionCount> countByConditionBetween(@Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+
+    @Query("select new zerobase.weatherproject.dto.DiaryConditionCount(d.city, d.date, d.weather, count(d))"
+            + " from Diary d where d.date in :dates group by d.city, d.date, d.weather")
+    List<DiaryConditionCount> countByConditionIn(@Param("dates") Collection<LocalDate> dates);
+
+    @Query("select min(d.date) from Diary d")
+    LocalDate findFirstDate();
+
+    @Query("select max(d.date) from Diary d")
+    LocalDate findLastDate();
+
+    @Query("select distinct new zerobase.weatherproject.domain.DateWeatherId(d.city, d.date)"
+            + " from Diary d where d.weatherStale = true")
+    List<DateWeatherId> findStaleWeatherKeys(Pageable pageable);
+
+    @Query("select min(d.id) from Diary d where d.date = :date")
+    Integer findFirstIdByDate(@Param("date") LocalDate date);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DiaryText t set t.body = :text where t.diaryId = :id")
+    int updateTextById(@Param("id") int id, @Param("text") String text);
 
     @Transactional
-    void deleteAllByDate(LocalDate date);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Diary d set d.weather = :weather, d.icon = :icon, d.temperature = :temperature,"
+            + " d.weatherStale = false where d.city = :city and d.date = :date and d.weatherStale = true")
+    int fillInWeather(@Param("city") String city,
+                      @Param("date") LocalDate date,
+                      @Param("weather") String weather,
+                      @Param("icon") String icon,
+                      @Param("temperature") Double temperature);
 }
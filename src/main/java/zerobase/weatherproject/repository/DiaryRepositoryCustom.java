@@ -0,0 +1,17 @@
+package zerobase.weatherproject.repository;
+
+import zerobase.weatherproject.domain.Diary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DiaryRepositoryCustom {
+    void saveAllInBatches(List<Diary> diaries);
+
+    // 일기와 diary_text 의 본문을 함께 저장하고 삭제한다
+    <S extends Diary> S save(S diary);
+
+    int deleteAllByDate(LocalDate date);
+
+    int deleteAllByDateBetween(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,85 @@
+package zerobase.weatherproject.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.domain.DiaryText;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class DiaryRepositoryCustomImpl implements DiaryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public void saveAllInBatches(List<Diary> diaries) {
+        for (int i = 0; i < diaries.size(); i++) {
+            persist(diaries.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional
+    public <S extends Diary> S save(S diary) {
+        if (diary.getId() == 0) {
+            persist(diary);
+            return diary;
+        }
+        S merged = entityManager.merge(diary);
+        merged.setText(diary.getText());
+        entityManager.merge(new DiaryText(merged.getId(), diary.getText()));
+        return merged;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllByDate(LocalDate date) {
+        entityManager.flush();
+        entityManager.createQuery("delete from DiaryText t where t.diaryId in"
+                        + " (select d.id from Diary d where d.date = :date)")
+                .setParameter("date", date)
+                .executeUpdate();
+        int deleted = entityManager.createQuery("delete from Diary d where d.date = :date")
+                .setParameter("date", date)
+                .executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllByDateBetween(LocalDate startDate, LocalDate endDate) {
+        entityManager.flush();
+        entityManager.createQuery("delete from DiaryText t where t.diaryId in"
+                        + " (select d.id from Diary d where d.date between :startDate and :endDate)")
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .executeUpdate();
+        int deleted = entityManager.createQuery("delete from Diary d where d.date between :startDate and :endDate")
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+
+    // id 는 persist 시점에 시퀀스에서 발급되므로 바로 같은 id 로 본문을 저장한다
+    private void persist(Diary diary) {
+        entityManager.persist(diary);
+        entityManager.persist(new DiaryText(diary.getId(), diary.getText()));
+    }
+}
@@ -0,0 +1,9 @@
+package zerobase.weatherproject.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import zerobase.weatherproject.domain.WeatherBackfillCheckpoint;
+
+@Repository
+public interface WeatherBackfillCheckpointRepository extends JpaRepository<WeatherBackfillCheckpoint, String> {
+}
@@ -0,0 +1,75 @@
+package zerobase.weatherproject.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * 요청 단위로 "primary 에서 읽어야 하는지" 를 들고 다니는 스레드 로컬 컨텍스트.
+ * 요청 밖(스케줄러, 백그라운드 스레드)에서는 항상 비어있어서 라우팅에 영향을 주지 않는다.
+ * 커밋 직후 캐시나 색인을 채우는 읽기처럼 replica 지연을 허용할 수 없는 읽기는 {@link #onPrimary} 범위 안에서 실행한다.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<ReadYourWritesContext> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> PRIMARY_SCOPE = new ThreadLocal<>();
+
+    private final Runnable onFirstWrite;
+    private boolean pinnedToPrimary;
+    private boolean written;
+
+    private ReadYourWritesContext(boolean pinnedToPrimary, Runnable onFirstWrite) {
+        this.pinnedToPrimary = pinnedToPrimary;
+        this.onFirstWrite = onFirstWrite;
+    }
+
+    public static void begin(boolean pinnedToPrimary, Runnable onFirstWrite) {
+        CURRENT.set(new ReadYourWritesContext(pinnedToPrimary, onFirstWrite));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        if (PRIMARY_SCOPE.get() != null) {
+            return true;
+        }
+        ReadYourWritesContext context = CURRENT.get();
+        return context != null && context.pinnedToPrimary;
+    }
+
+    // TTL 없이 보관되는 캐시/색인/집계를 채우는 읽기는 지연된 replica 의 커밋 전 데이터가 남지 않도록 primary 에서 읽는다
+    // 라우팅은 트랜잭션이 첫 쿼리에서 커넥션을 잡을 때 정해지므로 그 쿼리가 이 범위 안에서 실행되어야 한다
+    public static <T> T onPrimary(Supplier<T> action) {
+        Integer depth = PRIMARY_SCOPE.get();
+        PRIMARY_SCOPE.set(depth == null ? 1 : depth + 1);
+        try {
+            return action.get();
+        } finally {
+            if (depth == null) {
+                PRIMARY_SCOPE.remove();
+            } else {
+                PRIMARY_SCOPE.set(depth);
+            }
+        }
+    }
+
+    public static void runOnPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // 쓰기 트랜잭션이 커넥션을 잡는 시점에 호출된다. 같은 요청의 이후 읽기도 primary 로 보낸다
+    static void recordWrite() {
+        ReadYourWritesContext context = CURRENT.get();
+        if (context == null) {
+            return;
+        }
+        context.pinnedToPrimary = true;
+        if (!context.written) {
+            context.written = true;
+            context.onFirstWrite.run();
+        }
+    }
+}
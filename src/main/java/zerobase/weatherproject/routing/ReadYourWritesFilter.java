@@ -0,0 +1,119 @@
+package zerobase.weatherproject.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 쓰기가 있었던 클라이언트에게 쿠키를 내려주고, 쿠키의 만료 시각까지는 그 클라이언트의 읽기를 primary 로 보낸다.
+ * replica 의 복제 지연 때문에 방금 쓴 일기가 안 보이는 일을 막기 위한 것이다.
+ * 클라이언트가 만료 시각을 바꿔서 계속 primary 로 읽지 못하도록 쿠키에 서명을 붙이고,
+ * 서명이 맞더라도 지금부터 window 이후의 만료 시각은 받아들이지 않는다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "diary-read-primary-until";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Duration window;
+    private final SecretKeySpec key;
+
+    public ReadYourWritesFilter(Duration window) {
+        this(window, null);
+    }
+
+    // 여러 인스턴스가 서로의 쿠키를 검증하려면 같은 secret 을 설정해야 한다. 비워두면 인스턴스마다 임의의 키를 쓴다
+    public ReadYourWritesFilter(Duration window, String secret) {
+        this.window = window;
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        ReadYourWritesContext.begin(primaryUntil(request, now) > now, () -> {
+            if (!response.isCommitted()) {
+                response.addCookie(pinCookie(now + window.toMillis()));
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.end();
+        }
+    }
+
+    private Cookie pinCookie(long until) {
+        String value = Long.toString(until);
+        Cookie cookie = new Cookie(COOKIE_NAME, value + "." + sign(value));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        return cookie;
+    }
+
+    private long primaryUntil(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return verify(cookie.getValue(), now);
+            }
+        }
+        return 0;
+    }
+
+    private long verify(String cookieValue, long now) {
+        int separator = cookieValue == null ? -1 : cookieValue.indexOf('.');
+        if (separator < 0) {
+            return 0;
+        }
+        String value = cookieValue.substring(0, separator);
+        byte[] signature = sign(value).getBytes(StandardCharsets.US_ASCII);
+        byte[] provided = cookieValue.substring(separator + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(signature, provided)) {
+            return 0;
+        }
+        try {
+            long until = Long.parseLong(value);
+            return until - now > window.toMillis() ? 0 : until;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private String sign(String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(value.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("failed to sign read-your-writes cookie", e);
+        }
+    }
+}
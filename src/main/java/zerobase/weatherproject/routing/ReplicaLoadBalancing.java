@@ -0,0 +1,6 @@
+package zerobase.weatherproject.routing;
+
+public enum ReplicaLoadBalancing {
+    ROUND_ROBIN,
+    RANDOM
+}
@@ -0,0 +1,83 @@
+package zerobase.weatherproject.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * readOnly 트랜잭션은 replica 로, 나머지는 primary 로 보내는 DataSource.
+ * 트랜잭션 속성이 정해진 뒤에 커넥션을 잡아야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final ReplicaLoadBalancing loadBalancing;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryCount;
+    private final Counter replicaCount;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ReplicaLoadBalancing loadBalancing, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.loadBalancing = loadBalancing;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.primaryCount = Counter.builder("datasource.routing")
+                .tag("target", PRIMARY)
+                .register(meterRegistry);
+        this.replicaCount = Counter.builder("datasource.routing")
+                .tag("target", "replica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readOnly && !replicaKeys.isEmpty() && !ReadYourWritesContext.isPinnedToPrimary()) {
+            replicaCount.increment();
+            return replicaKeys.get(selectReplica());
+        }
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWritesContext.recordWrite();
+        }
+        primaryCount.increment();
+        return PRIMARY;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private int selectReplica() {
+        return switch (loadBalancing) {
+            case ROUND_ROBIN -> Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size());
+            case RANDOM -> ThreadLocalRandom.current().nextInt(replicaKeys.size());
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package zerobase.weatherproject.search;
+
+import zerobase.weatherproject.dto.DiarySearchHit;
+import zerobase.weatherproject.dto.DiaryView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 일기 본문의 역색인. 단어마다 일기 id 오름차순 posting list 를 두고,
+ * 검색어의 모든 단어를 포함하는 일기만 BM25 점수 순으로 반환한다.
+ */
+public class DiarySearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<DiarySearchHit> RANKING = Comparator
+            .comparingDouble(DiarySearchHit::score)
+            .thenComparing(DiarySearchHit::date)
+            .thenComparingInt(DiarySearchHit::id);
+
+    private final DiaryTextAnalyzer analyzer;
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, IndexedDiary> diaries = new HashMap<>();
+    private final Map<LocalDate, Set<Integer>> idsByDate = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long totalLength;
+
+    public DiarySearchIndex(DiaryTextAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    public void add(DiaryView view) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(view.id());
+            addInternal(view);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 해당 날짜들의 색인을 모두 지우고 views 로 다시 채운다. 수정/삭제된 일기가 한 번에 반영된다
+    public void replaceDays(Collection<LocalDate> dates, List<DiaryView> views) {
+        lock.writeLock().lock();
+        try {
+            for (LocalDate date : dates) {
+                Set<Integer> ids = idsByDate.get(date);
+                if (ids != null) {
+                    List.copyOf(ids).forEach(this::removeInternal);
+                }
+            }
+            views.forEach(this::addInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            diaries.clear();
+            idsByDate.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return diaries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<DiarySearchHit> search(String query, LocalDate startDate, LocalDate endDate, int limit) {
+        Set<String> terms = new LinkedHashSet<>(analyzer.analyze(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // 가장 짧은 posting list 를 기준으로 나머지는 이진 탐색으로 교집합을 구한다
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            int documentCount = diaries.size();
+            double averageLength = (double) totalLength / documentCount;
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                double df = lists.get(i).size();
+                idf[i] = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+            }
+
+            PriorityQueue<DiarySearchHit> top = new PriorityQueue<>(limit + 1, RANKING);
+            PostingList rarest = lists.getFirst();
+            for (int i = 0; i < rarest.size(); i++) {
+                int id = rarest.docId(i);
+                IndexedDiary diary = diaries.get(id);
+                if (diary.date().isBefore(startDate) || diary.date().isAfter(endDate)) {
+                    continue;
+                }
+
+                double lengthNorm = K1 * (1 - B + B * diary.length() / averageLength);
+                double score = 0;
+                boolean matched = true;
+                for (int j = 0; j < lists.size(); j++) {
+                    int frequency;
+                    if (j == 0) {
+                        frequency = rarest.frequency(i);
+                    } else {
+                        int index = lists.get(j).indexOf(id);
+                        if (index < 0) {
+                            matched = false;
+                            break;
+                        }
+                        frequency = lists.get(j).frequency(index);
+                    }
+                    score += idf[j] * frequency * (K1 + 1) / (frequency + lengthNorm);
+                }
+
+                if (matched) {
+                    top.offer(new DiarySearchHit(id, diary.date(), score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<DiarySearchHit> hits = new ArrayList<>(top);
+            hits.sort(RANKING.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addInternal(DiaryView view) {
+        List<String> terms = analyzer.analyze(view.text());
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new PostingList()).put(view.id(), frequency));
+        diaries.put(view.id(), new IndexedDiary(view.date(), terms.size(),
+                frequencies.keySet().toArray(String[]::new)));
+        idsByDate.computeIfAbsent(view.date(), key -> new HashSet<>()).add(view.id());
+        totalLength += terms.size();
+    }
+
+    private void removeInternal(int id) {
+        IndexedDiary diary = diaries.remove(id);
+        if (diary == null) {
+            return;
+        }
+        for (String term : diary.terms()) {
+            PostingList list = postings.get(term);
+            list.remove(id);
+            if (list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+        Set<Integer> ids = idsByDate.get(diary.date());
+        ids.remove(id);
+        if (ids.isEmpty()) {
+            idsByDate.remove(diary.date());
+        }
+        totalLength -= diary.length();
+    }
+
+    private record IndexedDiary(LocalDate date, int length, String[] terms) {
+    }
+}
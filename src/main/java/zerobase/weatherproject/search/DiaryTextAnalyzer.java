@@ -0,0 +1,56 @@
+package zerobase.weatherproject.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 일기 본문을 색인 단어로 나눈다. 한글/한자는 형태소 분석 대신 2글자 단위(bigram)로 자르고,
+ * 그 외 문자는 공백/기호 기준 단어를 소문자로 사용한다.
+ */
+public class DiaryTextAnalyzer {
+
+    public List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(normalized.substring(start, i), terms);
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private void addWord(String word, List<String> terms) {
+        if (!isCjk(word)) {
+            terms.add(word);
+            return;
+        }
+        if (word.length() == 1) {
+            terms.add(word);
+            return;
+        }
+        for (int i = 0; i + 1 < word.length(); i++) {
+            terms.add(word.substring(i, i + 2));
+        }
+    }
+
+    private boolean isCjk(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            Character.UnicodeScript script = Character.UnicodeScript.of(word.charAt(i));
+            if (script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HAN) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package zerobase.weatherproject.search;
+
+import java.util.Arrays;
+
+/**
+ * 문서 id 오름차순으로 정렬된 (id, 출현 횟수) 목록. 박싱 없이 int 배열 두 개로 보관한다.
+ * 새 일기는 id 가 증가하므로 대부분 배열 끝에 추가된다.
+ */
+final class PostingList {
+
+    private int[] docIds = new int[2];
+    private int[] frequencies = new int[2];
+    private int size;
+
+    void put(int docId, int frequency) {
+        if (size == 0 || docIds[size - 1] < docId) {
+            ensureCapacity(size + 1);
+            docIds[size] = docId;
+            frequencies[size] = frequency;
+            size++;
+            return;
+        }
+
+        int index = Arrays.binarySearch(docIds, 0, size, docId);
+        if (index >= 0) {
+            frequencies[index] = frequency;
+            return;
+        }
+        index = -index - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(docIds, index, docIds, index + 1, size - index);
+        System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+        docIds[index] = docId;
+        frequencies[index] = frequency;
+        size++;
+    }
+
+    void remove(int docId) {
+        int index = Arrays.binarySearch(docIds, 0, size, docId);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(docIds, index + 1, docIds, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+    }
+
+    int indexOf(int docId) {
+        return Arrays.binarySearch(docIds, 0, size, docId);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int docId(int index) {
+        return docIds[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > docIds.length) {
+            int newLength = Math.max(capacity, docIds.length + (docIds.length >> 1));
+            docIds = Arrays.copyOf(docIds, newLength);
+            frequencies = Arrays.copyOf(frequencies, newLength);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package zerobase.weatherproject.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weatherproject.archive.ArchivedDiary;
+import zerobase.weatherproject.archive.DiaryArchive;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.domain.DateWeatherId;
+import zerobase.weatherproject.dto.TransferResult;
+import zerobase.weatherproject.event.DateWeatherSavedEvent;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.repository.DateWeatherRepository;
+import zerobase.weatherproject.repository.DiaryRepository;
+import zerobase.weatherproject.transfer.CountingOutputStream;
+import zerobase.weatherproject.transfer.LineReader;
+import zerobase.weatherproject.transfer.RowReader;
+import zerobase.weatherproject.transfer.RowWriter;
+import zerobase.weatherproject.transfer.TransferFormat;
+import zerobase.weatherproject.transfer.TransferTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static zerobase.weatherproject.type.ErrorCode.FAILED_FILE_TRANSFER;
+import static zerobase.weatherproject.type.ErrorCode.INVALID_TRANSFER_FILE;
+
+/**
+ * diary / date_weather 테이블 전체를 파일로 내보내고 다시 가져온다.
+ * 내보내기는 스크롤 쿼리 결과를 한 행씩 파일 채널로 흘려보내고, 가져오기는 배치 단위로 커밋하면서
+ * 마지막으로 커밋된 행 끝의 바이트 위치를 돌려줘서 실패 시 그 위치부터 다시 가져올 수 있게 한다.
+ */
+@Service
+public class DataTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataTransferService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DiaryRepository diaryRepository;
+    private final DateWeatherRepository dateWeatherRepository;
+    private final DiaryService diaryService;
+    private final DiaryArchive diaryArchive;
+    private final DateWeatherCache dateWeatherCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor();
+    private final Path directory;
+    private final int batchSize;
+
+    public DataTransferService(DiaryRepository diaryRepository,
+                               DateWeatherRepository dateWeatherRepository,
+                               DiaryService diaryService,
+                               DiaryArchive diaryArchive,
+                               DateWeatherCache dateWeatherCache,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${transfer.directory:./transfer}") String directory,
+                               @Value("${transfer.import.batch-size:1000}") int batchSize) {
+        this.diaryRepository = diaryRepository;
+        this.dateWeatherRepository = dateWeatherRepository;
+        this.diaryService = diaryService;
+        this.diaryArchive = diaryArchive;
+        this.dateWeatherCache = dateWeatherCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+    }
+
+    public CompletableFuture<TransferResult> exportAsync(TransferTable table, TransferFormat format,
+                                                         String fileName, boolean gzip) {
+        Path target = resolve(fileName);
+        return CompletableFuture.supplyAsync(() -> export(table, format, target, gzip), jobExecutor);
+    }
+
+    public CompletableFuture<TransferResult> importAsync(TransferTable table, TransferFormat format,
+                                                         String fileName, long offset) {
+        Path source = resolve(fileName);
+        if (offset < 0 || !Files.isRegularFile(source)) {
+            logger.error("invalid import file " + fileName + " offset=" + offset);
+            throw new DiaryException(INVALID_TRANSFER_FILE);
+        }
+        return CompletableFuture.supplyAsync(() -> importFile(table, format, source, offset), jobExecutor);
+    }
+
+    // 다 쓴 다음 이름을 바꿔서 중간에 실패해도 불완전한 파일이 남지 않게 한다
+    TransferResult export(TransferTable table, TransferFormat format, Path target, boolean gzip) {
+        long start = System.currentTimeMillis();
+        logger.info("started to export " + table + " to " + target.getFileName());
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        long[] rows = {0};
+        long written;
+
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 OutputStream fileStream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                 OutputStream compressed = gzip ? new GZIPOutputStream(fileStream, BUFFER_SIZE) : fileStream;
+                 CountingOutputStream counting = new CountingOutputStream(compressed)) {
+
+                RowWriter writer = format.writer(counting, table.columns());
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Object[]> stream = exportRows(table)) {
+                        stream.forEach(values -> {
+                            try {
+                                writer.write(values);
+                                rows[0]++;
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    }
+                });
+                writer.finish();
+                written = counting.count();
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long fileBytes = Files.size(target);
+
+            TransferResult result = result(table, format, target, gzip, true, rows[0], 0, written, fileBytes, start);
+            logger.info("finished to export " + rows[0] + " rows of " + table
+                    + " (" + result.rowsPerSecond() + " rows/s)");
+            return result;
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("failed to export " + table + " to " + target.getFileName(), e);
+            deleteQuietly(partial);
+            throw new DiaryException(FAILED_FILE_TRANSFER);
+        }
+    }
+
+    TransferResult importFile(TransferTable table, TransferFormat format, Path source, long offset) {
+        long start = System.currentTimeMillis();
+        logger.info("started to import " + table + " from " + source.getFileName() + " offset=" + offset);
+        long rows = 0;
+        long committedOffset = offset;
+        boolean completed = false;
+        boolean gzip;
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            gzip = isGzip(channel);
+            InputStream inputStream;
+            if (gzip) {
+                // 압축 파일은 임의 위치로 이동할 수 없으므로 압축을 풀면서 offset 만큼 건너뛴다
+                inputStream = new BufferedInputStream(new GZIPInputStream(
+                        Channels.newInputStream(channel.position(0)), BUFFER_SIZE), BUFFER_SIZE);
+                inputStream.skipNBytes(offset);
+            } else {
+                inputStream = new BufferedInputStream(Channels.newInputStream(channel.position(offset)), BUFFER_SIZE);
+            }
+
+            try (inputStream) {
+                RowReader reader = format.reader(new LineReader(inputStream, offset), table.columns(), offset == 0);
+                committedOffset = reader.position();
+                List<String[]> batch = new ArrayList<>(batchSize);
+                try {
+                    String[] values;
+                    while ((values = reader.read()) != null) {
+                        batch.add(values);
+                        if (batch.size() == batchSize) {
+                            rows += saveBatch(table, batch);
+                            committedOffset = reader.position();
+                            batch.clear();
+                        }
+                    }
+                    rows += saveBatch(table, batch);
+                    committedOffset = reader.position();
+                    completed = true;
+                } catch (IOException | RuntimeException e) {
+                    logger.error("failed to import " + table + " from " + source.getFileName()
+                            + ", resume from offset " + committedOffset, e);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("failed to open import file " + source.getFileName(), e);
+            throw new DiaryException(FAILED_FILE_TRANSFER);
+        }
+
+        TransferResult result = result(table, format, source, gzip, completed, rows, offset, committedOffset,
+                sizeOf(source), start);
+        logger.info("finished to import " + rows + " rows of " + table
+                + " (" + result.rowsPerSecond() + " rows/s)");
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    private Stream<Object[]> exportRows(TransferTable table) {
+        return switch (table) {
+            case DIARY -> Stream.concat(diaryRepository.streamExportRows(), archivedExportRows());
+            case DATE_WEATHER -> dateWeatherRepository.streamExportRows();
+        };
+    }
+
+    // 보관 파일로 옮긴 일기도 함께 내보낸다
+    private Stream<Object[]> archivedExportRows() {
+        LocalDate firstArchived = diaryArchive.firstDate();
+        return firstArchived == null
+                ? Stream.empty()
+                : diaryArchive.stream(firstArchived, diaryArchive.lastDate()).map(ArchivedDiary::toRow);
+    }
+
+    private int saveBatch(TransferTable table, List<String[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        return switch (table) {
+            case DIARY -> diaryService.importDiaries(batch.stream().map(DataTransferService::toDiary).toList());
+            case DATE_WEATHER -> saveDateWeathers(batch.stream().map(DataTransferService::toDateWeather).toList());
+        };
+    }
+
+    // 이미 저장된 (도시, 날짜) 의 날씨는 건너뛴다
+    private int saveDateWeathers(List<DateWeather> weathers) {
+        List<DateWeather> saved = transactionTemplate.execute(status -> {
+            Set<DateWeatherId> existing = new HashSet<>();
+            dateWeatherRepository.findAllById(weathers.stream().map(DateWeather::getId).toList())
+                    .forEach(weather -> existing.add(weather.getId()));
+            List<DateWeather> missing = weathers.stream()
+                    .filter(weather -> existing.add(weather.getId()))
+                    .toList();
+            dateWeatherRepository.saveAll(missing);
+            return missing;
+        });
+        saved.forEach(dateWeatherCache::put);
+        eventPublisher.publishEvent(DateWeatherSavedEvent.of(saved));
+        return saved.size();
+    }
+
+    private static Diary toDiary(String[] values) {
+        Diary diary = new Diary();
+        diary.setDate(LocalDate.parse(values[1]));
+        diary.setCity(values[2]);
+        diary.setWeather(values[3]);
+        diary.setIcon(values[4]);
+        diary.setTemperature(values[5] == null ? null : Double.valueOf(values[5]));
+        diary.setText(values[6]);
+        return diary;
+    }
+
+    private static DateWeather toDateWeather(String[] values) {
+        return new DateWeather(values[0], LocalDate.parse(values[1]), values[2], values[3],
+                values[4] == null ? null : Double.valueOf(values[4]));
+    }
+
+    // 파일은 설정된 디렉터리 안에서만 읽고 쓴다
+    private Path resolve(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new DiaryException(INVALID_TRANSFER_FILE);
+        }
+        Path path = directory.resolve(fileName).normalize();
+        if (!path.startsWith(directory) || path.equals(directory)) {
+            logger.error("transfer file outside of directory " + fileName);
+            throw new DiaryException(INVALID_TRANSFER_FILE);
+        }
+        return path;
+    }
+
+    private static boolean isGzip(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        return channel.read(magic, 0) == 2
+                && (magic.get(0) & 0xff) == 0x1f && (magic.get(1) & 0xff) == 0x8b;
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.error("failed to delete " + path.getFileName());
+        }
+    }
+
+    private static TransferResult result(TransferTable table, TransferFormat format, Path file, boolean gzip,
+                                         boolean completed, long rows, long startOffset, long endOffset,
+                                         long fileBytes, long start) {
+        long elapsedMillis = System.currentTimeMillis() - start;
+        double rowsPerSecond = elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+        return new TransferResult(table.name(), format.name(), file.getFileName().toString(), gzip,
+                completed, rows, startOffset, endOffset, fileBytes, elapsedMillis, rowsPerSecond);
+    }
+}
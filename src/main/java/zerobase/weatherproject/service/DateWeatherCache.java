@@ -0,0 +1,162 @@
+package zerobase.weatherproject.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.DateWeatherId;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+@Component
+public class DateWeatherCache {
+
+    private final int maximumSize;
+    private final Map<DateWeatherId, DateWeather> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentHashMap<DateWeatherId, CompletableFuture<DateWeather>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public DateWeatherCache(@Value("${weather.cache.maximum-size:366}") int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DateWeatherId, DateWeather> eldest) {
+                if (size() > DateWeatherCache.this.maximumSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public DateWeather get(DateWeatherId key, Function<DateWeatherId, DateWeather> loader) {
+        DateWeather cached = getIfPresent(key);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+
+        CompletableFuture<DateWeather> load = new CompletableFuture<>();
+        CompletableFuture<DateWeather> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            DateWeather loaded = getIfPresent(key);
+            if (loaded == null) {
+                loaded = load(key, loader);
+            }
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    public DateWeather getIfPresent(DateWeatherId key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(DateWeather dateWeather) {
+        lock.lock();
+        try {
+            entries.put(dateWeather.getId(), dateWeather);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(DateWeatherId key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        lock.lock();
+        int size;
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(),
+                loadFailureCount.sum(), totalLoadTimeNanos.sum(), evictionCount.sum(),
+                size, maximumSize);
+    }
+
+    private DateWeather load(DateWeatherId key, Function<DateWeatherId, DateWeather> loader) {
+        long start = System.nanoTime();
+        try {
+            DateWeather loaded = loader.apply(key);
+            loadSuccessCount.increment();
+            // 조회한 도시/날짜와 다른 날씨나 장애 시 대체한 날씨는 캐시하지 않는다
+            if (loaded != null && key.equals(loaded.getId()) && !loaded.isStale()) {
+                put(loaded);
+            }
+            return loaded;
+        } catch (RuntimeException e) {
+            loadFailureCount.increment();
+            throw e;
+        } finally {
+            totalLoadTimeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private DateWeather await(CompletableFuture<DateWeather> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public record CacheStats(long hitCount, long missCount, long loadSuccessCount,
+                             long loadFailureCount, long totalLoadTimeNanos,
+                             long evictionCount, int size, int maximumSize) {
+
+        @JsonProperty("hitRate")
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+
+        @JsonProperty("averageLoadPenaltyNanos")
+        public double averageLoadPenaltyNanos() {
+            long loads = loadSuccessCount + loadFailureCount;
+            return loads == 0 ? 0.0 : (double) totalLoadTimeNanos / loads;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package zerobase.weatherproject.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.repository.DateWeatherRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DateWeather 2차 캐시 영역의 통계를 노출하고, 기동 시 최근 N 일의 날씨를 미리 올려둔다.
+ */
+@Component
+public class DateWeatherSecondLevelCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DateWeatherSecondLevelCache.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DateWeatherRepository dateWeatherRepository;
+    private final DateWeatherCache dateWeatherCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int warmUpDays;
+
+    public DateWeatherSecondLevelCache(EntityManagerFactory entityManagerFactory,
+                                       DateWeatherRepository dateWeatherRepository,
+                                       DateWeatherCache dateWeatherCache,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${weather.cache.warm-up-days:30}") int warmUpDays) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dateWeatherRepository = dateWeatherRepository;
+        this.dateWeatherCache = dateWeatherCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.warmUpDays = warmUpDays;
+    }
+
+    // 조회된 엔티티는 2차 캐시에 들어가고, 같은 결과로 앞단의 DateWeatherCache 도 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUpDays <= 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        try {
+            List<DateWeather> weathers = readOnlyTransaction.execute(status ->
+                    dateWeatherRepository.findAllByDateBetween(today.minusDays(warmUpDays - 1), today));
+            weathers.forEach(dateWeatherCache::put);
+            logger.info("finished to warm up date weather cache size=" + weathers.size()
+                    + " elapsed=" + (System.currentTimeMillis() - start) + "ms");
+        } catch (RuntimeException e) {
+            logger.error("failed to warm up date weather cache", e);
+        }
+    }
+
+    public RegionStats stats() {
+        CacheRegionStatistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics()
+                .getDomainDataRegionStatistics(DateWeather.CACHE_REGION);
+        if (statistics == null) {
+            return new RegionStats(0, 0, 0, 0);
+        }
+        return new RegionStats(statistics.getHitCount(), statistics.getMissCount(),
+                statistics.getPutCount(), statistics.getElementCountInMemory());
+    }
+
+    public record RegionStats(long hitCount, long missCount, long putCount, long elementCountInMemory) {
+
+        @JsonProperty("hitRate")
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+}
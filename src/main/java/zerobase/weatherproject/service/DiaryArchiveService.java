@@ -0,0 +1,110 @@
+package zerobase.weatherproject.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weatherproject.archive.ArchivedDiary;
+import zerobase.weatherproject.archive.DiaryArchive;
+import zerobase.weatherproject.dto.ArchiveResult;
+import zerobase.weatherproject.repository.DiaryRepository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 보관 기준보다 오래된 달의 일기를 핫 테이블에서 보관 파일로 옮긴다.
+ * 파일에 먼저 기록하고 fsync 한 뒤 같은 달의 행을 삭제하므로, 삭제가 실패해도 일기는 양쪽 중 한 곳에는 남는다.
+ * 보이는 데이터는 그대로이므로 DiaryChangedEvent 는 발행하지 않는다.
+ */
+@Service
+public class DiaryArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiaryArchiveService.class);
+
+    private final DiaryRepository diaryRepository;
+    private final DiaryArchive diaryArchive;
+    private final StripedDateLock stripedDateLock;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor();
+    private final int hotMonths;
+
+    public DiaryArchiveService(DiaryRepository diaryRepository,
+                               DiaryArchive diaryArchive,
+                               StripedDateLock stripedDateLock,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${diary.archive.hot-months:12}") int hotMonths) {
+        this.diaryRepository = diaryRepository;
+        this.diaryArchive = diaryArchive;
+        this.stripedDateLock = stripedDateLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotMonths = hotMonths;
+    }
+
+    @Scheduled(cron = "${diary.archive.cron:0 0 3 1 * *}")
+    public void archiveColdMonthsOnSchedule() {
+        archiveColdMonths();
+    }
+
+    public CompletableFuture<List<ArchiveResult>> archiveColdMonthsAsync() {
+        return CompletableFuture.supplyAsync(this::archiveColdMonths, jobExecutor);
+    }
+
+    public List<ArchiveResult> archiveColdMonths() {
+        LocalDate firstDate = diaryRepository.findFirstDate();
+        YearMonth cutoff = YearMonth.now().minusMonths(hotMonths);
+        List<ArchiveResult> results = new ArrayList<>();
+        if (firstDate == null) {
+            return results;
+        }
+        for (YearMonth month = YearMonth.from(firstDate); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            results.add(archiveMonth(month));
+        }
+        logger.info("finished to archive " + results.size() + " months before " + cutoff);
+        return results;
+    }
+
+    ArchiveResult archiveMonth(YearMonth month) {
+        long start = System.currentTimeMillis();
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+
+        // 잠금을 먼저 잡고 트랜잭션을 시작해서, 기다리는 동안 DB 커넥션을 잡고 있지 않는다
+        List<LocalDate> dates = startDate.datesUntil(endDate.plusDays(1)).toList();
+        ArchiveResult result = stripedDateLock.withLocks(dates, () -> transactionTemplate.execute(status -> {
+            // 대체 날씨가 남아있는 달은 실제 날씨로 채워진 뒤에 보관한다
+            if (diaryRepository.existsStaleWeatherBetween(startDate, endDate)) {
+                logger.info("skipped to archive " + month + " with stale weather");
+                return new ArchiveResult(month, 0, 0, true, System.currentTimeMillis() - start);
+            }
+            List<ArchivedDiary> diaries = diaryRepository.findExportRowsBetween(startDate, endDate).stream()
+                    .map(ArchivedDiary::of)
+                    .toList();
+            if (diaries.isEmpty()) {
+                return new ArchiveResult(month, 0, 0, false, System.currentTimeMillis() - start);
+            }
+            int archived = diaryArchive.append(month, diaries);
+            int deleted = diaryRepository.deleteAllByDateBetween(startDate, endDate);
+            return new ArchiveResult(month, archived, deleted, false, System.currentTimeMillis() - start);
+        }));
+
+        if (result.deleted() > 0) {
+            logger.info("finished to archive " + result.deleted() + " diaries of " + month);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+}
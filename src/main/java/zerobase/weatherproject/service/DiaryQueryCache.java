@@ -0,0 +1,206 @@
+package zerobase.weatherproject.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import zerobase.weatherproject.dto.DiaryView;
+import zerobase.weatherproject.event.DiaryChangedEvent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 날짜별 일기 조회 결과(본문 포함)를 보관하는 read-through 캐시.
+ * 기간 조회는 캐시된 날짜를 모으고 비어있는 날짜만 한 번의 쿼리로 채운다.
+ */
+@Component
+public class DiaryQueryCache {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 64;
+    private static final long VIEW_OVERHEAD_BYTES = 80;
+
+    private final long maximumBytes;
+    private final int maxRangeDays;
+    private final Map<LocalDate, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 무효화가 일어날 때마다 증가한다. 조회 시작 이후 무효화가 있었다면 그 결과는 캐시하지 않는다
+    private long epoch;
+    private long estimatedBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    public DiaryQueryCache(@Value("${diary.cache.maximum-bytes:33554432}") long maximumBytes,
+                           @Value("${diary.cache.max-range-days:92}") int maxRangeDays) {
+        this.maximumBytes = maximumBytes;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    public boolean isCacheable(LocalDate startDate, LocalDate endDate) {
+        return !startDate.isAfter(endDate)
+                && startDate.plusDays(maxRangeDays).isAfter(endDate);
+    }
+
+    public List<DiaryView> get(LocalDate startDate, LocalDate endDate,
+                               Function<List<LocalDate>, List<DiaryView>> loader) {
+        List<LocalDate> dates = startDate.datesUntil(endDate.plusDays(1)).toList();
+        long startEpoch;
+        Map<LocalDate, List<DiaryView>> views = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+
+        lock.lock();
+        try {
+            startEpoch = epoch;
+            for (LocalDate date : dates) {
+                Entry entry = entries.get(date);
+                if (entry == null) {
+                    missing.add(date);
+                } else {
+                    views.put(date, entry.views());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        hitCount.add(dates.size() - missing.size());
+        missCount.add(missing.size());
+
+        if (!missing.isEmpty()) {
+            Map<LocalDate, List<DiaryView>> loaded = new LinkedHashMap<>();
+            missing.forEach(date -> loaded.put(date, new ArrayList<>()));
+            for (DiaryView view : loader.apply(missing)) {
+                List<DiaryView> day = loaded.get(view.date());
+                if (day != null) {
+                    day.add(view);
+                }
+            }
+            loaded.replaceAll((date, day) -> List.copyOf(day));
+            putAll(loaded, startEpoch);
+            views.putAll(loaded);
+        }
+
+        List<DiaryView> result = new ArrayList<>();
+        for (LocalDate date : dates) {
+            result.addAll(views.get(date));
+        }
+        return result;
+    }
+
+    // 기간 전체가 캐시에 있을 때만 반환하고 하나라도 없으면 null
+    public List<DiaryView> getAllPresent(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> dates = startDate.datesUntil(endDate.plusDays(1)).toList();
+        List<DiaryView> result = new ArrayList<>();
+        lock.lock();
+        try {
+            for (LocalDate date : dates) {
+                Entry entry = entries.get(date);
+                if (entry == null) {
+                    missCount.increment();
+                    return null;
+                }
+                result.addAll(entry.views());
+            }
+        } finally {
+            lock.unlock();
+        }
+        hitCount.add(dates.size());
+        return result;
+    }
+
+    public void invalidate(Collection<LocalDate> dates) {
+        lock.lock();
+        try {
+            epoch++;
+            for (LocalDate date : dates) {
+                Entry removed = entries.remove(date);
+                if (removed != null) {
+                    estimatedBytes -= removed.bytes();
+                    invalidationCount.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        invalidate(event.dates());
+    }
+
+    public DiaryCacheStats stats() {
+        lock.lock();
+        try {
+            return new DiaryCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+                    invalidationCount.sum(), entries.size(), estimatedBytes, maximumBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putAll(Map<LocalDate, List<DiaryView>> loaded, long startEpoch) {
+        lock.lock();
+        try {
+            if (epoch != startEpoch) {
+                return;
+            }
+            loaded.forEach((date, views) -> {
+                Entry entry = new Entry(views, weigh(views));
+                Entry previous = entries.put(date, entry);
+                estimatedBytes += entry.bytes() - (previous == null ? 0 : previous.bytes());
+            });
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (estimatedBytes > maximumBytes && iterator.hasNext()) {
+            estimatedBytes -= iterator.next().bytes();
+            iterator.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private static long weigh(List<DiaryView> views) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (DiaryView view : views) {
+            bytes += VIEW_OVERHEAD_BYTES + 2L * (length(view.text())
+                    + length(view.weather()) + length(view.icon()));
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private record Entry(List<DiaryView> views, long bytes) {
+    }
+
+    public record DiaryCacheStats(long hitCount, long missCount, long evictionCount,
+                                  long invalidationCount, int size, long estimatedBytes,
+                                  long maximumBytes) {
+
+        @JsonProperty("hitRate")
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+}
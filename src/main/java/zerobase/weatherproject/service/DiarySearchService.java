@@ -0,0 +1,126 @@
+package zerobase.weatherproject.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weatherproject.archive.DiaryArchive;
+import zerobase.weatherproject.dto.DiarySearchHit;
+import zerobase.weatherproject.dto.DiaryView;
+import zerobase.weatherproject.event.DiaryChangedEvent;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.repository.DiaryRepository;
+import zerobase.weatherproject.routing.ReadYourWritesContext;
+import zerobase.weatherproject.search.DiarySearchIndex;
+import zerobase.weatherproject.search.DiaryTextAnalyzer;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static zerobase.weatherproject.type.ErrorCode.INVALID_PARAMETER_ERROR;
+import static zerobase.weatherproject.type.ErrorCode.SEARCH_INDEX_NOT_READY;
+
+/**
+ * 일기 본문 검색. 기동 시 전체 일기로 색인을 만들고, 이후에는 커밋된 변경의 날짜만 다시 색인한다.
+ * 색인 변경은 단일 스레드에서 순서대로 처리해서 재구성 중 들어온 변경도 유실되지 않는다.
+ */
+@Service
+public class DiarySearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiarySearchService.class);
+
+    private final DiaryRepository diaryRepository;
+    private final DiaryArchive diaryArchive;
+    private final DiarySearchIndex searchIndex = new DiarySearchIndex(new DiaryTextAnalyzer());
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor();
+    private final int maxLimit;
+
+    private volatile boolean ready;
+
+    public DiarySearchService(DiaryRepository diaryRepository,
+                              DiaryArchive diaryArchive,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${diary.search.max-limit:100}") int maxLimit) {
+        this.diaryRepository = diaryRepository;
+        this.diaryArchive = diaryArchive;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxLimit = maxLimit;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexOnStartup() {
+        indexExecutor.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        Set<LocalDate> dates = event.dates();
+        indexExecutor.execute(() -> reindex(dates));
+    }
+
+    public List<DiarySearchHit> search(String query, LocalDate startDate, LocalDate endDate, int limit) {
+        if (query == null || query.isBlank() || startDate.isAfter(endDate) || limit <= 0) {
+            logger.error("invalid search request");
+            throw new DiaryException(INVALID_PARAMETER_ERROR);
+        }
+        if (!ready) {
+            throw new DiaryException(SEARCH_INDEX_NOT_READY);
+        }
+        return searchIndex.search(query, startDate, endDate, Math.min(limit, maxLimit));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        logger.info("started to build diary search index");
+        searchIndex.clear();
+        ReadYourWritesContext.runOnPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<DiaryView> views = diaryRepository.streamAllViews()) {
+                views.forEach(searchIndex::add);
+            }
+        }));
+        LocalDate firstArchived = diaryArchive.firstDate();
+        if (firstArchived != null) {
+            try (Stream<DiaryView> views = diaryArchive.stream(firstArchived, diaryArchive.lastDate())
+                    .map(diary -> diary.toView(true))) {
+                views.forEach(searchIndex::add);
+            }
+        }
+        ready = true;
+        logger.info("finished to build diary search index size=" + searchIndex.size()
+                + " elapsed=" + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    void reindex(Set<LocalDate> dates) {
+        try {
+            // 커밋 직후의 읽기라서 replica 지연으로 변경 전 일기가 색인되지 않도록 primary 에서 읽는다
+            List<DiaryView> views = ReadYourWritesContext.onPrimary(() -> diaryRepository.findViewsByDateIn(dates));
+            if (dates.stream().anyMatch(diaryArchive::isArchived)) {
+                views = DiaryArchive.merge(views, diaryArchive.readViews(dates, true));
+            }
+            searchIndex.replaceDays(dates, views);
+        } catch (RuntimeException e) {
+            logger.error("failed to reindex diaries of " + dates, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexExecutor.shutdownNow();
+    }
+}
@@ -1,30 +1,53 @@
 package zerobase.weatherproject.service;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import zerobase.weatherproject.WeatherProjectApplication;
+import zerobase.weatherproject.archive.DiaryArchive;
+import zerobase.weatherproject.client.WeatherCity;
+import zerobase.weatherproject.client.WeatherClient;
+import zerobase.weatherproject.config.WeatherCityProperties;
 import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.DateWeatherId;
 import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.dto.DiaryCreateRequest;
+import zerobase.weatherproject.dto.DiaryCreateResult;
+import zerobase.weatherproject.dto.DiaryCursor;
+import zerobase.weatherproject.dto.DiaryPage;
+import zerobase.weatherproject.dto.DiaryVersion;
+import zerobase.weatherproject.dto.DiaryView;
+import zerobase.weatherproject.event.DateWeatherSavedEvent;
+import zerobase.weatherproject.event.DiaryChangedEvent;
 import zerobase.weatherproject.exception.DiaryException;
 import zerobase.weatherproject.repository.DateWeatherRepository;
+import zerobase.weatherproject.repository.DiaryDateVersionRepository;
 import zerobase.weatherproject.repository.DiaryRepository;
+import zerobase.weatherproject.routing.ReadYourWritesContext;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URI;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static zerobase.weatherproject.type.ErrorCode.*;
 
@@ -32,157 +55,404 @@ import static zerobase.weatherproject.type.ErrorCode.*;
 @Transactional(readOnly = true)
 public class DiaryService {
 
-    @Value("${openweathermap.key}")
-    private String apiKey;
     private final static Logger logger = LoggerFactory.getLogger(WeatherProjectApplication.class);
 
     private final DiaryRepository diaryRepository;
     private final DateWeatherRepository dateWeatherRepository;
+    private final DateWeatherCache dateWeatherCache;
+    private final WeatherClient weatherClient;
+    private final StripedDateLock stripedDateLock;
+    private final WeatherCityProperties weatherCityProperties;
+    private final DiaryQueryCache diaryQueryCache;
+    private final DiaryDateVersionRepository diaryDateVersionRepository;
+    private final DiaryArchive diaryArchive;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${diary.page.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Value("${weather.fetch.parallelism:8}")
+    private int fetchParallelism = 8;
+
+    @Value("${weather.stale-fallback.enabled:true}")
+    private boolean staleFallbackEnabled = true;
 
     private final WeatherApiService service = new WeatherApiService();
 
-    public DiaryService(DiaryRepository diaryRepository, DateWeatherRepository dateWeatherRepository) {
+    public DiaryService(DiaryRepository diaryRepository,
+                        DateWeatherRepository dateWeatherRepository,
+                        DateWeatherCache dateWeatherCache,
+                        WeatherClient weatherClient,
+                        StripedDateLock stripedDateLock,
+                        WeatherCityProperties weatherCityProperties,
+                        DiaryQueryCache diaryQueryCache,
+                        DiaryDateVersionRepository diaryDateVersionRepository,
+                        DiaryArchive diaryArchive,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager) {
         this.diaryRepository = diaryRepository;
         this.dateWeatherRepository = dateWeatherRepository;
+        this.dateWeatherCache = dateWeatherCache;
+        this.weatherClient = weatherClient;
+        this.stripedDateLock = stripedDateLock;
+        this.weatherCityProperties = weatherCityProperties;
+        this.diaryQueryCache = diaryQueryCache;
+        this.diaryDateVersionRepository = diaryDateVersionRepository;
+        this.diaryArchive = diaryArchive;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
     @Scheduled(cron = "0 0 1 * * *")
     public void saveWeatherDateEveryDayAtAm1() {
-        dateWeatherRepository.save(service.getWeatherFromApi());
-        logger.info("finished to save weather date at 1am");
+        Set<String> savedCities = new HashSet<>(dateWeatherRepository.findCitiesByDate(LocalDate.now()));
+        List<WeatherCity> cities = weatherCityProperties.cities().stream()
+                .filter(city -> !savedCities.contains(city.name()))
+                .toList();
+        if (cities.isEmpty()) {
+            logger.info("weather of today is already saved");
+            return;
+        }
+
+        List<DateWeather> dateWeathers = weatherClient.getCurrentWeathers(cities, fetchParallelism);
+        dateWeatherRepository.saveAll(dateWeathers);
+        dateWeathers.forEach(dateWeatherCache::put);
+        eventPublisher.publishEvent(DateWeatherSavedEvent.of(dateWeathers));
+        logger.info("finished to save weather of " + dateWeathers.size() + " cities at 1am");
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public void createDiary(LocalDate date, String text) {
+    // 날씨는 잠그기 전에 조회하고, 날짜 잠금을 잡은 뒤에 트랜잭션을 시작해서
+    // 잠금이나 날씨 API 를 기다리는 동안 DB 커넥션을 잡고 있지 않는다
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void createDiary(LocalDate date, String city, String text) {
         logger.info("started to create diary");
         validateCreateDiary(date);
+        WeatherCity weatherCity = weatherCityProperties.resolve(city);
 
-        DateWeather dateWeather = service.getDateWeather(date);
+        DateWeather dateWeather = service.getDateWeather(weatherCity, date);
 
         Diary diary = new Diary();
         diary.setDateWeather(dateWeather);
         diary.setText(text);
         diary.setDate(date);
 
-        diaryRepository.save(diary);
+        stripedDateLock.withLock(date, () -> transactionTemplate.execute(status -> {
+            diaryRepository.save(diary);
+            markChanged(List.of(date));
+            return null;
+        }));
 
         logger.info("finished to create diary");
     }
 
-    public List<Diary> readDiary(LocalDate date) {
-        return diaryRepository.findAllByDate(date);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<DiaryCreateResult> createDiaries(List<DiaryCreateRequest> requests) {
+        logger.info("started to create " + requests.size() + " diaries");
+        DiaryCreateResult[] results = new DiaryCreateResult[requests.size()];
+
+        // 같은 도시/날짜의 요청은 날씨를 한 번만 조회하도록 묶는다
+        Map<DateWeatherId, List<Integer>> indexesByKey = new LinkedHashMap<>();
+        Map<String, WeatherCity> cities = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            LocalDate date = requests.get(i).date();
+            if (date == null) {
+                results[i] = DiaryCreateResult.failed(i, null, INVALID_DATE_VALUE);
+            } else if (date.isAfter(LocalDate.now())) {
+                results[i] = DiaryCreateResult.failed(i, date, FUTURE_DATE_NOT_ALLOWED);
+            } else {
+                WeatherCity city;
+                try {
+                    city = weatherCityProperties.resolve(requests.get(i).city());
+                } catch (DiaryException e) {
+                    results[i] = DiaryCreateResult.failed(i, date, e.getErrorCode());
+                    continue;
+                }
+                cities.putIfAbsent(city.name(), city);
+                indexesByKey.computeIfAbsent(new DateWeatherId(city.name(), date),
+                        key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Diary> diaries = new ArrayList<>();
+        List<Integer> diaryIndexes = new ArrayList<>();
+        for (Map.Entry<DateWeatherId, List<Integer>> entry : indexesByKey.entrySet()) {
+            LocalDate date = entry.getKey().getDate();
+            DateWeather dateWeather;
+            try {
+                dateWeather = service.getDateWeather(cities.get(entry.getKey().getCity()), date);
+            } catch (DiaryException e) {
+                for (int index : entry.getValue()) {
+                    results[index] = DiaryCreateResult.failed(index, date, e.getErrorCode());
+                }
+                continue;
+            }
+
+            for (int index : entry.getValue()) {
+                Diary diary = new Diary();
+                diary.setDateWeather(dateWeather);
+                diary.setText(requests.get(index).text());
+                diary.setDate(date);
+                diaries.add(diary);
+                diaryIndexes.add(index);
+            }
+        }
+
+        if (!diaries.isEmpty()) {
+            List<LocalDate> dates = diaries.stream().map(Diary::getDate).toList();
+            stripedDateLock.withLocks(dates, () -> transactionTemplate.execute(status -> {
+                diaryRepository.saveAllInBatches(diaries);
+                markChanged(dates);
+                return null;
+            }));
+        }
+
+        for (int i = 0; i < diaries.size(); i++) {
+            int index = diaryIndexes.get(i);
+            results[index] = DiaryCreateResult.created(index, diaries.get(i));
+        }
+
+        logger.info("finished to create " + diaries.size() + " diaries");
+        return Arrays.asList(results);
+    }
+
+    public List<DiaryView> readDiary(LocalDate date, boolean includeText) {
+        if (!includeText) {
+            List<DiaryView> cached = diaryQueryCache.getAllPresent(date, date);
+            return cached != null
+                    ? withoutText(cached)
+                    : withArchive(diaryRepository.findSummariesByDate(date), date, date, false);
+        }
+        return diaryQueryCache.get(date, date, this::loadViews);
+    }
+
+    // 캐시 대상 기간보다 긴 조회는 캐시를 거치지 않고 바로 DB와 보관 파일에서 읽는다
+    public List<DiaryView> readDiaries(LocalDate startDate, LocalDate endDate, boolean includeText) {
+        if (!diaryQueryCache.isCacheable(startDate, endDate)) {
+            return withArchive(includeText
+                    ? diaryRepository.findViewsByDateBetween(startDate, endDate)
+                    : diaryRepository.findSummariesByDateBetween(startDate, endDate),
+                    startDate, endDate, includeText);
+        }
+        if (!includeText) {
+            List<DiaryView> cached = diaryQueryCache.getAllPresent(startDate, endDate);
+            return cached != null
+                    ? withoutText(cached)
+                    : withArchive(diaryRepository.findSummariesByDateBetween(startDate, endDate),
+                    startDate, endDate, false);
+        }
+        return diaryQueryCache.get(startDate, endDate, this::loadViews);
+    }
+
+    public DiaryVersion readVersion(LocalDate startDate, LocalDate endDate) {
+        return diaryDateVersionRepository.findVersionBetween(startDate, endDate);
     }
 
-    public List<Diary> readDiaries(LocalDate startDate, LocalDate endDate) {
-        return diaryRepository.findAllByDateBetween(startDate, endDate);
+    public DiaryPage readDiaryPage(LocalDate startDate, LocalDate endDate, String cursor, int size,
+                                   boolean includeText) {
+        Pageable pageable = PageRequest.ofSize(Math.max(1, Math.min(size, maxPageSize)));
+
+        DiaryCursor after = cursor == null || cursor.isBlank() ? null : DiaryCursor.decode(cursor);
+        List<DiaryView> content;
+        if (after == null) {
+            content = includeText
+                    ? diaryRepository.findFirstPage(startDate, endDate, pageable)
+                    : diaryRepository.findFirstSummaryPage(startDate, endDate, pageable);
+        } else {
+            content = includeText
+                    ? diaryRepository.findPageAfter(startDate, endDate, after.date(), after.id(), pageable)
+                    : diaryRepository.findSummaryPageAfter(startDate, endDate, after.date(), after.id(), pageable);
+        }
+        if (diaryArchive.overlaps(startDate, endDate)) {
+            content = mergeArchivedPage(content, startDate, endDate, after, pageable.getPageSize(), includeText);
+        }
+
+        String nextCursor = content.size() < pageable.getPageSize()
+                ? null : DiaryCursor.of(content.getLast()).encode();
+        return new DiaryPage(content, nextCursor);
+    }
+
+    public void streamDiaries(LocalDate startDate, LocalDate endDate, boolean includeText,
+                              Consumer<DiaryView> consumer) {
+        Stream<DiaryView> hot = includeText
+                ? diaryRepository.streamViewsByDateBetween(startDate, endDate)
+                : diaryRepository.streamSummariesByDateBetween(startDate, endDate);
+        try (Stream<DiaryView> diaries = diaryArchive.overlaps(startDate, endDate)
+                ? DiaryArchive.merge(hot, diaryArchive.stream(startDate, endDate)
+                .map(diary -> diary.toView(includeText)))
+                : hot) {
+            diaries.forEach(consumer);
+        }
     }
 
     @Transactional
-    public void updateDiary(LocalDate date, String text) {
-        Diary firstByDate = diaryRepository.getFirstByDate(date);
-        firstByDate.setText(text);
-        diaryRepository.save(firstByDate);
+    public int updateDiary(LocalDate date, String text) {
+        validateNotArchived(date, date);
+        Integer firstId = diaryRepository.findFirstIdByDate(date);
+        int updated = firstId == null ? 0 : diaryRepository.updateTextById(firstId, text);
+        if (updated > 0) {
+            markChanged(List.of(date));
+        }
 
         logger.info("finished to update diary");
+        return updated;
     }
 
-    @Transactional()
-    public void deleteDiary(LocalDate date) {
-        diaryRepository.deleteAllByDate(date);
+    @Transactional
+    public int deleteDiary(LocalDate date) {
+        validateNotArchived(date, date);
+        int deleted = diaryRepository.deleteAllByDate(date);
+        if (deleted > 0) {
+            markChanged(List.of(date));
+        }
 
         logger.info("finished to delete diary");
+        return deleted;
     }
 
-    private void validateCreateDiary(LocalDate date) {
-        if (date.isAfter(LocalDate.now())) {
-            logger.error("date is after current date");
-            throw new DiaryException(FUTURE_DATE_NOT_ALLOWED);
+    @Transactional
+    public int deleteDiaries(LocalDate startDate, LocalDate endDate) {
+        validateNotArchived(startDate, endDate);
+        List<LocalDate> dates = diaryRepository.findDatesBetween(startDate, endDate);
+        int deleted = diaryRepository.deleteAllByDateBetween(startDate, endDate);
+        if (deleted > 0) {
+            markChanged(dates);
         }
+
+        logger.info("finished to delete " + deleted + " diaries");
+        return deleted;
     }
 
-    private class WeatherApiService {
+    // 날씨 API 장애 때 대체 날씨로 저장된 일기를 실제 날씨로 채운다. 아직 API 를 쓸 수 없으면 0 을 반환한다
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int fillInStaleWeather(DateWeatherId key) {
+        WeatherCity city = weatherCityProperties.resolve(key.getCity());
 
-        private DateWeather getDateWeather(LocalDate date) {
-            List<DateWeather> dateWeatherRepositoryFromDB =
-                    dateWeatherRepository.findAllByDate(date);
-            if (dateWeatherRepositoryFromDB.isEmpty()) {
-                return getWeatherFromApi();
+        DateWeather dateWeather = service.getDateWeather(city, key.getDate());
+        if (dateWeather.isStale()) {
+            return 0;
+        }
+        int updated = stripedDateLock.withLock(key.getDate(), () -> transactionTemplate.execute(status -> {
+            int filled = diaryRepository.fillInWeather(city.name(), key.getDate(), dateWeather.getWeather(),
+                    dateWeather.getIcon(), dateWeather.getTemperature());
+            if (filled > 0) {
+                markChanged(List.of(key.getDate()));
             }
-            return dateWeatherRepositoryFromDB.getFirst();
+            return filled;
+        }));
+        logger.info("finished to fill in weather of " + updated + " diaries");
+        return updated;
+    }
+
+    // 파일에서 읽은 일기를 그대로 저장한다. 날씨는 파일에 기록된 값을 사용하고 id 는 새로 발급된다
+    @Transactional
+    public int importDiaries(List<Diary> diaries) {
+        if (diaries.isEmpty()) {
+            return 0;
         }
+        diaryRepository.saveAllInBatches(diaries);
+        markChanged(diaries.stream().map(Diary::getDate).toList());
+        return diaries.size();
+    }
 
-        private DateWeather getWeatherFromApi() {
-            HashMap<String, Object> parsedWeather = parseWeather(getWeatherString());
+    // 같은 트랜잭션에서 날짜별 버전을 올리고, 커밋 후 캐시 무효화를 위해 이벤트를 발행한다
+    // 여러 날짜를 동시에 갱신하는 트랜잭션끼리 교착되지 않도록 날짜 순서대로 갱신한다
+    private void markChanged(Collection<LocalDate> dates) {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        dates.stream()
+                .distinct()
+                .sorted()
+                .forEach(date -> diaryDateVersionRepository.increment(date, now));
+        eventPublisher.publishEvent(DiaryChangedEvent.of(dates));
+    }
 
-            DateWeather dateWeather = new DateWeather();
-            dateWeather.setDate(LocalDate.now());
-            dateWeather.setWeather(parsedWeather.get("main").toString());
-            dateWeather.setIcon(parsedWeather.get("icon").toString());
-            dateWeather.setTemperature(Double.parseDouble((parsedWeather.get("temp")
-                    .toString())));
+    // 조회 캐시를 채우는 읽기는 커밋 직후에도 최신 값을 캐시하도록 primary 에서 읽는다
+    private List<DiaryView> loadViews(List<LocalDate> dates) {
+        List<DiaryView> hot = ReadYourWritesContext.onPrimary(() -> dates.size() == 1
+                ? diaryRepository.findViewsByDate(dates.getFirst())
+                : diaryRepository.findViewsByDateIn(dates));
+        return dates.stream().anyMatch(diaryArchive::isArchived)
+                ? DiaryArchive.merge(hot, diaryArchive.readViews(dates, true))
+                : hot;
+    }
 
-            return dateWeather;
+    private List<DiaryView> withArchive(List<DiaryView> hot, LocalDate startDate, LocalDate endDate,
+                                        boolean includeText) {
+        return diaryArchive.overlaps(startDate, endDate)
+                ? DiaryArchive.merge(hot, diaryArchive.readViews(startDate, endDate, includeText))
+                : hot;
+    }
+
+    // 보관 파일에서는 커서 이후의 한 페이지 분량만 달 단위로 읽어서 핫 테이블 결과와 합친다
+    private List<DiaryView> mergeArchivedPage(List<DiaryView> hot, LocalDate startDate, LocalDate endDate,
+                                              DiaryCursor after, int size, boolean includeText) {
+        LocalDate from = after == null || after.date().isBefore(startDate) ? startDate : after.date();
+        List<DiaryView> archived;
+        try (Stream<DiaryView> views = diaryArchive.stream(from, endDate)
+                .filter(diary -> after == null || diary.date().isAfter(after.date())
+                        || diary.id() > after.id())
+                .limit(size)
+                .map(diary -> diary.toView(includeText))) {
+            archived = views.toList();
         }
+        List<DiaryView> merged = DiaryArchive.merge(hot, archived);
+        return merged.size() > size ? merged.subList(0, size) : merged;
+    }
 
-        private String getWeatherString() {
-            try {
-                URI uri = new URI("https", "api.openweathermap.org",
-                        "/data/2.5/weather", "q=seoul&appid=" + apiKey,
-                        null
-                );
-
-                HttpURLConnection conn = (HttpURLConnection) uri.toURL().openConnection();
-                conn.setRequestMethod("GET");
-
-                try (
-                        BufferedReader br = new BufferedReader(new InputStreamReader(
-                                conn.getResponseCode() == HttpURLConnection.HTTP_OK
-                                        ? conn.getInputStream() : conn.getErrorStream()
-                        ))
-                ) {
-                    String inputLine;
-                    StringBuilder response = new StringBuilder();
-                    while ((inputLine = br.readLine()) != null) {
-                        response.append(inputLine);
-                    }
-                    return response.toString();
-                }
-            } catch (Exception e) {
-                throw new DiaryException(FAILED_API_REQUEST);
-            }
+    // 보관된 달은 읽기 전용이다
+    private void validateNotArchived(LocalDate startDate, LocalDate endDate) {
+        if (diaryArchive.overlaps(startDate, endDate)) {
+            logger.error("diary of archived month is read only");
+            throw new DiaryException(ARCHIVED_DIARY_READ_ONLY);
         }
+    }
 
-        private HashMap<String, Object> parseWeather(String jsonSting) {
-            JSONParser jsonParser = new JSONParser();
-            JSONObject jsonObject;
+    private static List<DiaryView> withoutText(List<DiaryView> views) {
+        return views.stream().map(DiaryView::withoutText).toList();
+    }
 
-            try {
-                jsonObject = (JSONObject) jsonParser.parse(jsonSting);
-            } catch (ParseException e) {
-                throw new DiaryException(FAILED_JSON_PARSING);
-            }
+    private void validateCreateDiary(LocalDate date) {
+        if (date.isAfter(LocalDate.now())) {
+            logger.error("date is after current date");
+            throw new DiaryException(FUTURE_DATE_NOT_ALLOWED);
+        }
+    }
 
-            HashMap<String, Object> resultMap = new HashMap<>();
+    private class WeatherApiService {
 
-            JSONObject mainData = (JSONObject) jsonObject.get("main");
-            if (mainData != null) {
-                resultMap.put("temp", mainData.get("temp"));
+        private DateWeather getDateWeather(WeatherCity city, LocalDate date) {
+            return dateWeatherCache.get(new DateWeatherId(city.name(), date),
+                    key -> loadDateWeather(city, key));
+        }
 
+        private DateWeather loadDateWeather(WeatherCity city, DateWeatherId key) {
+            Optional<DateWeather> dateWeatherFromDB = dateWeatherRepository.findById(key);
+            if (dateWeatherFromDB.isPresent()) {
+                return dateWeatherFromDB.get();
             }
-
-            JSONArray weatherArray = (JSONArray) jsonObject.get("weather");
-            if (weatherArray != null && !weatherArray.isEmpty()) {
-                JSONObject weatherData = (JSONObject) weatherArray.getFirst();
-                if (weatherData != null) {
-                    resultMap.put("main",
-                            weatherData.get("main"));
-                    resultMap.put("icon",
-                            weatherData.get("icon"));
+            try {
+                if (key.getDate().isBefore(LocalDate.now())) {
+                    DateWeather saved = dateWeatherRepository.save(weatherClient.getHistoricalWeather(city, key.getDate()));
+                    eventPublisher.publishEvent(DateWeatherSavedEvent.of(saved));
+                    return saved;
                 }
+                return weatherClient.getCurrentWeather(city);
+            } catch (DiaryException e) {
+                return staleWeather(city, key.getDate()).orElseThrow(() -> e);
             }
+        }
 
-            return resultMap;
+        // API 를 쓸 수 없으면 가장 최근에 저장된 날씨를 stale 로 표시해서 대신 사용하고, 나중에 채워 넣는다
+        private Optional<DateWeather> staleWeather(WeatherCity city, LocalDate date) {
+            if (!staleFallbackEnabled) {
+                return Optional.empty();
+            }
+            Optional<DateWeather> latest = dateWeatherRepository
+                    .findTopByCityAndDateLessThanEqualOrderByDateDesc(city.name(), date)
+                    .map(weather -> weather.asStaleFor(date));
+            latest.ifPresent(weather -> logger.info("using stale weather of " + city.name() + " for " + date));
+            return latest;
         }
     }
 }
@@ -0,0 +1,272 @@
+package zerobase.weatherproject.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import zerobase.weatherproject.config.WeatherCityProperties;
+import zerobase.weatherproject.dto.DiaryCreateResult;
+import zerobase.weatherproject.dto.DiaryWriteReceipt;
+import zerobase.weatherproject.dto.PendingDiary;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.type.DiaryCreateStatus;
+import zerobase.weatherproject.type.ErrorCode;
+import zerobase.weatherproject.writebehind.DiaryWriteJournal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static zerobase.weatherproject.type.ErrorCode.FUTURE_DATE_NOT_ALLOWED;
+import static zerobase.weatherproject.type.ErrorCode.INTERNAL_SERVER_ERROR;
+import static zerobase.weatherproject.type.ErrorCode.INVALID_DATE_VALUE;
+import static zerobase.weatherproject.type.ErrorCode.INVALID_PARAMETER_ERROR;
+import static zerobase.weatherproject.type.ErrorCode.UNSUPPORTED_CITY;
+import static zerobase.weatherproject.type.ErrorCode.WRITE_QUEUE_FULL;
+
+/**
+ * 일기 생성 write-behind. 요청은 검증 후 저널에 기록하고 큐에 넣은 뒤 바로 응답하고,
+ * 별도 스레드가 큐를 배치 단위로 꺼내 createDiaries 로 저장한다(같은 도시/날짜의 날씨는 한 번만 조회).
+ * 큐가 가득 차면 잠시 기다렸다가 거절해서 호출자가 다시 시도하게 한다.
+ * 저장에 실패한 일기는 다시 시도해서 해결되지 않는 오류가 아니면 저널에 미완료로 남겨두고 간격을 늘려가며 다시 저장한다.
+ */
+@Service
+public class DiaryWriteBehindService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiaryWriteBehindService.class);
+
+    private static final int RECENT_RECEIPTS = 10_000;
+    // 요청 자체가 잘못된 경우라서 다시 시도해도 저장될 수 없는 오류
+    private static final Set<ErrorCode> PERMANENT_ERRORS =
+            EnumSet.of(INVALID_DATE_VALUE, FUTURE_DATE_NOT_ALLOWED, UNSUPPORTED_CITY, INVALID_PARAMETER_ERROR);
+
+    private final DiaryService diaryService;
+    private final WeatherCityProperties weatherCityProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<PendingDiary> queue;
+    private final Path journalPath;
+    private final boolean fsync;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long flushIntervalMillis;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+
+    // 다시 저장할 일기. writer 스레드에서만 사용한다
+    private final PriorityQueue<Retry> retries = new PriorityQueue<>(Comparator.comparingLong(Retry::dueNanos));
+
+    private final Map<String, DiaryWriteReceipt> receipts = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DiaryWriteReceipt> eldest) {
+            return size() > RECENT_RECEIPTS;
+        }
+    };
+
+    private DiaryWriteJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    public DiaryWriteBehindService(DiaryService diaryService,
+                                   WeatherCityProperties weatherCityProperties,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${diary.write-behind.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${diary.write-behind.batch-size:200}") int batchSize,
+                                   @Value("${diary.write-behind.offer-timeout-millis:100}") long offerTimeoutMillis,
+                                   @Value("${diary.write-behind.flush-interval-millis:200}") long flushIntervalMillis,
+                                   @Value("${diary.write-behind.retry-backoff-millis:500}") long retryBackoffMillis,
+                                   @Value("${diary.write-behind.max-retry-backoff-millis:60000}") long maxRetryBackoffMillis,
+                                   @Value("${diary.write-behind.journal:./data/diary-write-behind.journal}") String journalPath,
+                                   @Value("${diary.write-behind.fsync:true}") boolean fsync) {
+        this.diaryService = diaryService;
+        this.weatherCityProperties = weatherCityProperties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+        this.journalPath = Path.of(journalPath);
+        this.fsync = fsync;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        journal = new DiaryWriteJournal(journalPath, objectMapper, fsync);
+        List<PendingDiary> recovered = journal.recover();
+        if (!recovered.isEmpty()) {
+            logger.info("recovered " + recovered.size() + " pending diaries from write-behind journal");
+        }
+        recovered.forEach(diary -> receipt(DiaryWriteReceipt.queued(diary.requestId())));
+
+        Gauge.builder("diary.write_behind.queue.size", queue, BlockingQueue::size)
+                .description("접수 후 저장을 기다리는 일기 수")
+                .register(meterRegistry);
+
+        running = true;
+        writer = Thread.ofPlatform().name("diary-write-behind").daemon(false)
+                .start(() -> run(recovered));
+    }
+
+    public DiaryWriteReceipt accept(LocalDate date, String city, String text) {
+        if (date == null) {
+            throw new DiaryException(INVALID_DATE_VALUE);
+        }
+        if (date.isAfter(LocalDate.now())) {
+            logger.error("date is after current date");
+            throw new DiaryException(FUTURE_DATE_NOT_ALLOWED);
+        }
+        String cityName = weatherCityProperties.resolve(city).name();
+        PendingDiary diary = new PendingDiary(UUID.randomUUID().toString(), date, cityName, text);
+
+        // 큐에 넣는 즉시 저장될 수 있으므로 접수 상태를 먼저 기록한다
+        DiaryWriteReceipt queued = receipt(DiaryWriteReceipt.queued(diary.requestId()));
+        try {
+            journal.append(diary);
+            if (!queue.offer(diary, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                journal.markDone(List.of(diary.requestId()));
+                logger.error("write-behind queue is full");
+                return receipt(DiaryWriteReceipt.rejected(diary.requestId(), WRITE_QUEUE_FULL));
+            }
+        } catch (IOException e) {
+            logger.error("failed to append write-behind journal", e);
+            receipt(DiaryWriteReceipt.rejected(diary.requestId(), INTERNAL_SERVER_ERROR));
+            throw new DiaryException(INTERNAL_SERVER_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            receipt(DiaryWriteReceipt.rejected(diary.requestId(), WRITE_QUEUE_FULL));
+            throw new DiaryException(WRITE_QUEUE_FULL);
+        }
+        return queued;
+    }
+
+    public DiaryWriteReceipt status(String requestId) {
+        synchronized (receipts) {
+            return receipts.get(requestId);
+        }
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        // 남은 일기는 저널에 있으므로 다음 기동 시 다시 저장된다
+        journal.close();
+    }
+
+    private void run(List<PendingDiary> recovered) {
+        for (int from = 0; from < recovered.size() && running; from += batchSize) {
+            flush(List.copyOf(recovered.subList(from, Math.min(from + batchSize, recovered.size()))), 0);
+        }
+
+        List<PendingDiary> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Retry due = retries.peek();
+                if (due != null && due.dueNanos() <= System.nanoTime()) {
+                    retries.poll();
+                    flush(due.diaries(), due.attempt());
+                    continue;
+                }
+
+                long waitMillis = due == null ? flushIntervalMillis : Math.min(flushIntervalMillis,
+                        TimeUnit.NANOSECONDS.toMillis(due.dueNanos() - System.nanoTime()) + 1);
+                PendingDiary first = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(List.copyOf(batch), 0);
+                batch.clear();
+                if (queue.isEmpty() && retries.isEmpty()) {
+                    journal.compactIfIdle();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | UncheckedIOException e) {
+                logger.error("failed to compact write-behind journal", e);
+            }
+        }
+    }
+
+    // 저장되었거나 다시 시도해도 소용없는 실패만 완료로 기록하고, 나머지는 저널에 남겨둔 채 나중에 다시 저장한다
+    // 트랜잭션 자체가 실패하면(DB 장애, 락 대기 시간 초과 등) 배치 전체를 다시 시도한다
+    void flush(List<PendingDiary> batch, int attempt) {
+        List<DiaryCreateResult> results;
+        try {
+            results = diaryService.createDiaries(batch.stream().map(PendingDiary::toRequest).toList());
+        } catch (RuntimeException e) {
+            logger.error("failed to flush " + batch.size() + " diaries (attempt " + (attempt + 1) + ")", e);
+            scheduleRetry(batch, attempt);
+            return;
+        }
+
+        List<DiaryWriteReceipt> done = new ArrayList<>(batch.size());
+        List<PendingDiary> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            DiaryCreateResult result = results.get(i);
+            if (result.status() == DiaryCreateStatus.CREATED || PERMANENT_ERRORS.contains(result.errorCode())) {
+                done.add(DiaryWriteReceipt.of(batch.get(i).requestId(), result));
+            } else {
+                failed.add(batch.get(i));
+            }
+        }
+        try {
+            journal.markDone(done.stream().map(DiaryWriteReceipt::requestId).toList());
+        } catch (IOException e) {
+            logger.error("failed to mark write-behind journal", e);
+        }
+        done.forEach(this::receipt);
+        if (!failed.isEmpty()) {
+            logger.error("failed to flush " + failed.size() + " diaries (attempt " + (attempt + 1) + ")");
+            scheduleRetry(failed, attempt);
+        }
+        logger.info("finished to flush " + done.size() + " diaries");
+    }
+
+    private void scheduleRetry(List<PendingDiary> diaries, int attempt) {
+        long backoffMillis = Math.min(maxRetryBackoffMillis, retryBackoffMillis << Math.min(attempt, 16));
+        retries.add(new Retry(List.copyOf(diaries), attempt + 1,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis)));
+    }
+
+    private DiaryWriteReceipt receipt(DiaryWriteReceipt receipt) {
+        synchronized (receipts) {
+            receipts.put(receipt.requestId(), receipt);
+        }
+        return receipt;
+    }
+
+    private record Retry(List<PendingDiary> diaries, int attempt, long dueNanos) {
+    }
+}
@@ -0,0 +1,59 @@
+package zerobase.weatherproject.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import zerobase.weatherproject.client.CircuitBreaker;
+import zerobase.weatherproject.domain.DateWeatherId;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.repository.DiaryRepository;
+
+import java.util.List;
+
+/**
+ * 날씨 API 장애 동안 대체 날씨로 저장된 일기를 주기적으로 실제 날씨로 채운다.
+ * 서킷이 열려 있는 동안은 건너뛰고, 채우는 도중 다시 실패하면 다음 주기로 미룬다.
+ */
+@Service
+public class StaleWeatherFillInService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleWeatherFillInService.class);
+
+    private final DiaryRepository diaryRepository;
+    private final DiaryService diaryService;
+    private final CircuitBreaker weatherCircuitBreaker;
+    private final int batchSize;
+
+    public StaleWeatherFillInService(DiaryRepository diaryRepository,
+                                     DiaryService diaryService,
+                                     CircuitBreaker weatherCircuitBreaker,
+                                     @Value("${weather.fill-in.batch-size:100}") int batchSize) {
+        this.diaryRepository = diaryRepository;
+        this.diaryService = diaryService;
+        this.weatherCircuitBreaker = weatherCircuitBreaker;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.fill-in.interval-millis:300000}")
+    public void fillInStaleWeather() {
+        if (weatherCircuitBreaker.state() == CircuitBreaker.State.OPEN) {
+            return;
+        }
+        List<DateWeatherId> keys = diaryRepository.findStaleWeatherKeys(PageRequest.of(0, batchSize));
+        int filled = 0;
+        for (DateWeatherId key : keys) {
+            try {
+                filled += diaryService.fillInStaleWeather(key);
+            } catch (DiaryException e) {
+                logger.error("failed to fill in stale weather of " + key.getCity() + " " + key.getDate());
+                break;
+            }
+        }
+        if (!keys.isEmpty()) {
+            logger.info("finished to fill in stale weather of " + filled + " diaries");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package zerobase.weatherproject.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.weatherproject.exception.DiaryException;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static zerobase.weatherproject.type.ErrorCode.LOCK_ACQUISITION_TIMEOUT;
+
+@Component
+public class StripedDateLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripedDateLock.class);
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final Timer acquiredTimer;
+    private final Timer timeoutTimer;
+
+    public StripedDateLock(@Value("${diary.lock.stripes:64}") int stripes,
+                           @Value("${diary.lock.timeout-millis:5000}") long timeoutMillis,
+                           MeterRegistry meterRegistry) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.acquiredTimer = Timer.builder("diary.lock.wait")
+                .description("time spent waiting for per-date diary locks")
+                .tag("outcome", "acquired")
+                .register(meterRegistry);
+        this.timeoutTimer = Timer.builder("diary.lock.wait")
+                .description("time spent waiting for per-date diary locks")
+                .tag("outcome", "timeout")
+                .register(meterRegistry);
+    }
+
+    public <T> T withLock(LocalDate date, Supplier<T> action) {
+        return withLocks(List.of(date), action);
+    }
+
+    // 교착 상태를 피하기 위해 stripe 번호 오름차순으로 잠그고, action 이 끝나면 해제한다.
+    // 잠금을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션은 action 안에서 시작한다
+    public <T> T withLocks(Collection<LocalDate> dates, Supplier<T> action) {
+        int[] indexes = dates.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        ReentrantLock[] acquired = new ReentrantLock[indexes.length];
+        int count = 0;
+        long start = System.nanoTime();
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    timeoutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    logger.error("timed out waiting for date lock stripe " + index);
+                    throw new DiaryException(LOCK_ACQUISITION_TIMEOUT);
+                }
+                acquired[count++] = lock;
+            }
+            acquiredTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return action.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DiaryException(LOCK_ACQUISITION_TIMEOUT);
+        } finally {
+            unlock(acquired, count);
+        }
+    }
+
+    private int stripeIndex(LocalDate date) {
+        return Math.floorMod(Long.hashCode(date.toEpochDay()) * 0x9E3779B9, stripes.length);
+    }
+
+    private void unlock(ReentrantLock[] locks, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+}
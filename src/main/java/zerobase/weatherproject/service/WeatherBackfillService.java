@@ -0,0 +1,210 @@
+package zerobase.weatherproject.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.weatherproject.client.TokenBucketRateLimiter;
+import zerobase.weatherproject.client.WeatherCity;
+import zerobase.weatherproject.client.WeatherClient;
+import zerobase.weatherproject.config.WeatherCityProperties;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.WeatherBackfillCheckpoint;
+import zerobase.weatherproject.dto.BackfillResult;
+import zerobase.weatherproject.event.DateWeatherSavedEvent;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.repository.DateWeatherRepository;
+import zerobase.weatherproject.repository.WeatherBackfillCheckpointRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static zerobase.weatherproject.type.ErrorCode.INVALID_PARAMETER_ERROR;
+
+@Service
+public class WeatherBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeatherBackfillService.class);
+
+    private final DateWeatherRepository dateWeatherRepository;
+    private final WeatherBackfillCheckpointRepository checkpointRepository;
+    private final WeatherClient weatherClient;
+    private final DateWeatherCache dateWeatherCache;
+    private final WeatherCityProperties weatherCityProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ExecutorService fetchExecutor;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor();
+    private final int batchSize;
+    private final int lookbackDays;
+
+    public WeatherBackfillService(DateWeatherRepository dateWeatherRepository,
+                                  WeatherBackfillCheckpointRepository checkpointRepository,
+                                  WeatherClient weatherClient,
+                                  DateWeatherCache dateWeatherCache,
+                                  WeatherCityProperties weatherCityProperties,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${weather.backfill.permits-per-second:1}") double permitsPerSecond,
+                                  @Value("${weather.backfill.burst:5}") int burst,
+                                  @Value("${weather.backfill.parallelism:4}") int parallelism,
+                                  @Value("${weather.backfill.batch-size:50}") int batchSize,
+                                  @Value("${weather.backfill.lookback-days:30}") int lookbackDays) {
+        this.dateWeatherRepository = dateWeatherRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.weatherClient = weatherClient;
+        this.dateWeatherCache = dateWeatherCache;
+        this.weatherCityProperties = weatherCityProperties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rateLimiter = new TokenBucketRateLimiter(permitsPerSecond, burst);
+        this.fetchExecutor = Executors.newFixedThreadPool(parallelism);
+        this.batchSize = batchSize;
+        this.lookbackDays = lookbackDays;
+    }
+
+    @Scheduled(cron = "${weather.backfill.cron:0 30 1 * * *}")
+    public void backfillRecentDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (WeatherCity city : weatherCityProperties.cities()) {
+            backfill(city, yesterday.minusDays(lookbackDays - 1), yesterday);
+        }
+    }
+
+    // city 를 지정하지 않으면 설정된 모든 도시를 차례로 백필한다
+    public CompletableFuture<List<BackfillResult>> backfillAsync(String city, LocalDate startDate,
+                                                                 LocalDate endDate) {
+        validateRange(startDate, endDate);
+        List<WeatherCity> cities = city == null || city.isBlank()
+                ? weatherCityProperties.cities()
+                : List.of(weatherCityProperties.resolve(city));
+        return CompletableFuture.supplyAsync(() -> cities.stream()
+                .map(target -> backfill(target, startDate, endDate))
+                .toList(), jobExecutor);
+    }
+
+    public BackfillResult backfill(WeatherCity city, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        long start = System.currentTimeMillis();
+        String jobKey = city.name() + "_" + startDate + "_" + endDate;
+        logger.info("started to backfill weather " + jobKey);
+
+        LocalDate resumeFrom = checkpointRepository.findById(jobKey)
+                .map(checkpoint -> checkpoint.getLastCompletedDate().plusDays(1))
+                .orElse(startDate);
+
+        Set<LocalDate> present = new HashSet<>(dateWeatherRepository.findDatesBetween(
+                city.name(), resumeFrom, endDate));
+        List<LocalDate> missing = resumeFrom.datesUntil(endDate.plusDays(1))
+                .filter(date -> !present.contains(date))
+                .toList();
+
+        int fetched = 0;
+        List<LocalDate> failedDates = new ArrayList<>();
+        LocalDate checkpoint = resumeFrom.minusDays(1);
+
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            List<LocalDate> chunk = missing.subList(from, Math.min(from + batchSize, missing.size()));
+            List<DateWeather> weathers = fetchChunk(city, chunk, failedDates);
+
+            saveBatch(weathers);
+            fetched += weathers.size();
+
+            // 실패한 날짜가 생기면 그 이전까지만 완료된 것으로 기록해서 재실행 시 다시 시도한다
+            LocalDate completed = failedDates.isEmpty()
+                    ? (from + batchSize >= missing.size() ? endDate : chunk.getLast())
+                    : failedDates.getFirst().minusDays(1);
+            if (completed.isAfter(checkpoint)) {
+                checkpoint = completed;
+                saveCheckpoint(jobKey, checkpoint);
+            }
+        }
+
+        if (failedDates.isEmpty()) {
+            checkpointRepository.findById(jobKey).ifPresent(checkpointRepository::delete);
+            checkpoint = endDate;
+        }
+
+        BackfillResult result = new BackfillResult(jobKey, city.name(), resumeFrom, endDate,
+                present.size(), fetched, failedDates, checkpoint,
+                System.currentTimeMillis() - start);
+        logger.info("finished to backfill weather " + jobKey + " fetched=" + fetched
+                + " failed=" + failedDates.size());
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+
+    private List<DateWeather> fetchChunk(WeatherCity city, List<LocalDate> chunk, List<LocalDate> failedDates) {
+        List<Future<DateWeather>> futures = new ArrayList<>(chunk.size());
+        for (LocalDate date : chunk) {
+            futures.add(fetchExecutor.submit(() -> {
+                rateLimiter.acquire();
+                return weatherClient.getHistoricalWeather(city, date);
+            }));
+        }
+
+        List<DateWeather> weathers = new ArrayList<>(chunk.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                weathers.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                logger.error("failed to backfill weather of " + city.name() + " " + chunk.get(i));
+                failedDates.add(chunk.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("weather backfill interrupted", e);
+            }
+        }
+        return weathers;
+    }
+
+    private void saveBatch(List<DateWeather> weathers) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> dateWeatherRepository.saveAll(weathers));
+        } catch (DataIntegrityViolationException e) {
+            // 그 사이 일기 작성 등으로 같은 날짜가 먼저 저장된 경우 남은 날짜만 다시 저장한다
+            logger.info("retrying weather batch without concurrently saved dates");
+            transactionTemplate.executeWithoutResult(status -> weathers.stream()
+                    .filter(weather -> !dateWeatherRepository.existsById(weather.getId()))
+                    .map(weather -> new DateWeather(weather.getCity(), weather.getDate(), weather.getWeather(),
+                            weather.getIcon(), weather.getTemperature()))
+                    .forEach(dateWeatherRepository::save));
+        }
+        weathers.forEach(dateWeatherCache::put);
+        eventPublisher.publishEvent(DateWeatherSavedEvent.of(weathers));
+    }
+
+    private void saveCheckpoint(String jobKey, LocalDate lastCompletedDate) {
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.save(
+                new WeatherBackfillCheckpoint(jobKey, lastCompletedDate, LocalDateTime.now())));
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate) || !endDate.isBefore(LocalDate.now())) {
+            logger.error("invalid backfill range " + startDate + " ~ " + endDate);
+            throw new DiaryException(INVALID_PARAMETER_ERROR);
+        }
+    }
+}
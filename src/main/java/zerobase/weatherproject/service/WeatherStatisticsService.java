@@ -0,0 +1,199 @@
+package zerobase.weatherproject.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import zerobase.weatherproject.archive.DiaryArchive;
+import zerobase.weatherproject.config.WeatherCityProperties;
+import zerobase.weatherproject.dto.DiaryConditionCount;
+import zerobase.weatherproject.dto.WeatherStatistics;
+import zerobase.weatherproject.event.DateWeatherSavedEvent;
+import zerobase.weatherproject.event.DiaryChangedEvent;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.repository.DateWeatherRepository;
+import zerobase.weatherproject.repository.DiaryRepository;
+import zerobase.weatherproject.routing.ReadYourWritesContext;
+import zerobase.weatherproject.statistics.WeatherRollups;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static zerobase.weatherproject.type.ErrorCode.STATISTICS_NOT_READY;
+
+/**
+ * 월간/연간 날씨 통계. 기동 시 연도별로 병렬 집계한 뒤, 이후에는 저장된 날씨와 변경된 날짜의 일기 수만 반영한다.
+ * 집계 변경은 단일 스레드에서 순서대로 처리해서 재구성 중 들어온 변경도 재구성 이후에 반영된다.
+ */
+@Service
+public class WeatherStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeatherStatisticsService.class);
+
+    private final DiaryRepository diaryRepository;
+    private final DiaryArchive diaryArchive;
+    private final DateWeatherRepository dateWeatherRepository;
+    private final WeatherCityProperties weatherCityProperties;
+    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService rebuildExecutor;
+
+    private volatile WeatherRollups rollups;
+
+    public WeatherStatisticsService(DiaryRepository diaryRepository,
+                                    DiaryArchive diaryArchive,
+                                    DateWeatherRepository dateWeatherRepository,
+                                    WeatherCityProperties weatherCityProperties,
+                                    @Value("${weather.statistics.rebuild-parallelism:4}") int rebuildParallelism) {
+        this.diaryRepository = diaryRepository;
+        this.diaryArchive = diaryArchive;
+        this.dateWeatherRepository = dateWeatherRepository;
+        this.weatherCityProperties = weatherCityProperties;
+        this.rebuildExecutor = Executors.newFixedThreadPool(rebuildParallelism);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAsync();
+    }
+
+    public CompletableFuture<Integer> rebuildAsync() {
+        return CompletableFuture.supplyAsync(this::rebuild, updateExecutor)
+                .whenComplete((years, e) -> {
+                    if (e != null) {
+                        logger.error("failed to rebuild weather statistics", e);
+                    }
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        Set<LocalDate> dates = event.dates();
+        updateExecutor.execute(() -> {
+            WeatherRollups current = rollups;
+            if (current == null) {
+                return;
+            }
+            try {
+                // 커밋 직후의 읽기라서 replica 지연으로 변경 전 개수가 집계에 남지 않도록 primary 에서 읽는다
+                List<DiaryConditionCount> counts = ReadYourWritesContext.onPrimary(() ->
+                        diaryRepository.countByConditionIn(dates));
+                current.replaceDiaryCounts(dates, withCity(concat(counts, diaryArchive.countByConditionIn(dates))));
+            } catch (RuntimeException e) {
+                logger.error("failed to update diary statistics of " + dates, e);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDateWeatherSaved(DateWeatherSavedEvent event) {
+        updateExecutor.execute(() -> {
+            WeatherRollups current = rollups;
+            if (current == null) {
+                return;
+            }
+            try {
+                event.weathers().forEach(current::addWeather);
+            } catch (RuntimeException e) {
+                logger.error("failed to update weather statistics", e);
+            }
+        });
+    }
+
+    public List<WeatherStatistics> readMonthly(String city, int year) {
+        return ready().monthly(weatherCityProperties.resolve(city).name(), year);
+    }
+
+    public WeatherStatistics readYearly(String city, int year) {
+        return ready().yearly(weatherCityProperties.resolve(city).name(), year);
+    }
+
+    // 연도별로 나눠서 병렬로 집계한 뒤 한 번에 교체한다
+    int rebuild() {
+        long start = System.currentTimeMillis();
+        logger.info("started to rebuild weather statistics");
+
+        LocalDate first = earliest(dateWeatherRepository.findFirstDate(), diaryRepository.findFirstDate(),
+                diaryArchive.firstDate());
+        LocalDate last = latest(dateWeatherRepository.findLastDate(), diaryRepository.findLastDate(),
+                diaryArchive.lastDate());
+        List<CompletableFuture<WeatherRollups>> partitions = new ArrayList<>();
+        if (first != null) {
+            for (int year = first.getYear(); year <= last.getYear(); year++) {
+                int target = year;
+                partitions.add(CompletableFuture.supplyAsync(() -> ReadYourWritesContext.onPrimary(
+                        () -> buildYear(target)), rebuildExecutor));
+            }
+        }
+
+        WeatherRollups rebuilt = new WeatherRollups();
+        partitions.forEach(partition -> rebuilt.absorb(partition.join()));
+        rollups = rebuilt;
+        logger.info("finished to rebuild weather statistics years=" + partitions.size()
+                + " elapsed=" + (System.currentTimeMillis() - start) + "ms");
+        return partitions.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        updateExecutor.shutdownNow();
+        rebuildExecutor.shutdownNow();
+    }
+
+    private WeatherRollups buildYear(int year) {
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+        WeatherRollups partition = new WeatherRollups();
+        dateWeatherRepository.findAllByDateBetween(startDate, endDate).forEach(partition::addWeather);
+        partition.replaceDiaryCounts(List.of(),
+                withCity(concat(diaryRepository.countByConditionBetween(startDate, endDate),
+                        diaryArchive.countByConditionBetween(startDate, endDate))));
+        return partition;
+    }
+
+    // 도시 컬럼이 생기기 전에 작성된 일기는 기본 도시로 집계한다
+    private List<DiaryConditionCount> withCity(List<DiaryConditionCount> counts) {
+        String defaultCity = weatherCityProperties.defaultCity();
+        return counts.stream()
+                .map(count -> count.city() != null ? count
+                        : new DiaryConditionCount(defaultCity, count.date(), count.weather(), count.count()))
+                .toList();
+    }
+
+    private WeatherRollups ready() {
+        WeatherRollups current = rollups;
+        if (current == null) {
+            throw new DiaryException(STATISTICS_NOT_READY);
+        }
+        return current;
+    }
+
+    // 보관 파일로 옮긴 직후 삭제가 커밋되기 전에는 같은 일기가 양쪽에 있을 수 있지만 보관 작업 동안의 짧은 오차로 둔다
+    private static List<DiaryConditionCount> concat(List<DiaryConditionCount> hot,
+                                                    List<DiaryConditionCount> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<DiaryConditionCount> counts = new ArrayList<>(hot);
+        counts.addAll(archived);
+        return counts;
+    }
+
+    private static LocalDate earliest(LocalDate... dates) {
+        return Stream.of(dates).filter(Objects::nonNull).min(LocalDate::compareTo).orElse(null);
+    }
+
+    private static LocalDate latest(LocalDate... dates) {
+        return Stream.of(dates).filter(Objects::nonNull).max(LocalDate::compareTo).orElse(null);
+    }
+}
@@ -0,0 +1,84 @@
+package zerobase.weatherproject.statistics;
+
+import zerobase.weatherproject.dto.WeatherStatistics;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 한 도시의 한 달치 집계. 날씨 상태별 일수와 일기 수를 WeatherCondition 순서의 배열로 보관한다.
+ * 날씨는 날짜마다 한 번만 저장되므로 이미 반영한 날짜는 weatherDays 로 걸러서 중복 반영을 막는다.
+ */
+final class MonthlyRollup {
+
+    private final BitSet weatherDays = new BitSet(32);
+    private final int[] weatherCounts = new int[WeatherCondition.count()];
+    private final long[] diaryCounts = new long[WeatherCondition.count()];
+
+    private int weatherDayCount;
+    private int temperatureCount;
+    private double temperatureSum;
+    private double minTemperature = Double.POSITIVE_INFINITY;
+    private double maxTemperature = Double.NEGATIVE_INFINITY;
+
+    boolean addWeather(int dayOfMonth, WeatherCondition condition, Double temperature) {
+        if (weatherDays.get(dayOfMonth)) {
+            return false;
+        }
+        weatherDays.set(dayOfMonth);
+        weatherDayCount++;
+        weatherCounts[condition.ordinal()]++;
+        if (temperature != null) {
+            addTemperature(1, temperature, temperature, temperature);
+        }
+        return true;
+    }
+
+    void addDiaries(WeatherCondition condition, long count) {
+        diaryCounts[condition.ordinal()] += count;
+    }
+
+    // 연간 집계처럼 여러 달을 합칠 때 사용한다
+    void combine(MonthlyRollup other) {
+        weatherDayCount += other.weatherDayCount;
+        for (int i = 0; i < weatherCounts.length; i++) {
+            weatherCounts[i] += other.weatherCounts[i];
+            diaryCounts[i] += other.diaryCounts[i];
+        }
+        if (other.temperatureCount > 0) {
+            addTemperature(other.temperatureCount, other.temperatureSum,
+                    other.minTemperature, other.maxTemperature);
+        }
+    }
+
+    WeatherStatistics toStatistics(String city, int year, Integer month) {
+        Map<String, Integer> weatherConditions = new LinkedHashMap<>();
+        Map<String, Long> diaryConditions = new LinkedHashMap<>();
+        long diaryCount = 0;
+        for (int i = 0; i < weatherCounts.length; i++) {
+            String label = WeatherCondition.valueAt(i).label();
+            if (weatherCounts[i] > 0) {
+                weatherConditions.put(label, weatherCounts[i]);
+            }
+            if (diaryCounts[i] > 0) {
+                diaryConditions.put(label, diaryCounts[i]);
+                diaryCount += diaryCounts[i];
+            }
+        }
+
+        boolean hasTemperature = temperatureCount > 0;
+        return new WeatherStatistics(city, year, month, weatherDayCount,
+                hasTemperature ? temperatureSum / temperatureCount : null,
+                hasTemperature ? minTemperature : null,
+                hasTemperature ? maxTemperature : null,
+                weatherConditions, diaryCount, diaryConditions);
+    }
+
+    private void addTemperature(int count, double sum, double min, double max) {
+        temperatureCount += count;
+        temperatureSum += sum;
+        minTemperature = Math.min(minTemperature, min);
+        maxTemperature = Math.max(maxTemperature, max);
+    }
+}
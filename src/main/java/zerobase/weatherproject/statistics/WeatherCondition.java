@@ -0,0 +1,54 @@
+package zerobase.weatherproject.statistics;
+
+/**
+ * OpenWeatherMap 의 weather.main 그룹. 집계 배열의 인덱스로 ordinal 을 사용한다.
+ */
+public enum WeatherCondition {
+    CLEAR("Clear"),
+    CLOUDS("Clouds"),
+    RAIN("Rain"),
+    DRIZZLE("Drizzle"),
+    THUNDERSTORM("Thunderstorm"),
+    SNOW("Snow"),
+    MIST("Mist"),
+    SMOKE("Smoke"),
+    HAZE("Haze"),
+    DUST("Dust"),
+    FOG("Fog"),
+    SAND("Sand"),
+    ASH("Ash"),
+    SQUALL("Squall"),
+    TORNADO("Tornado"),
+    OTHER("Other");
+
+    private static final WeatherCondition[] VALUES = values();
+
+    private final String label;
+
+    WeatherCondition(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+
+    public static WeatherCondition valueAt(int index) {
+        return VALUES[index];
+    }
+
+    public static WeatherCondition of(String weather) {
+        if (weather != null) {
+            for (WeatherCondition condition : VALUES) {
+                if (condition.label.equalsIgnoreCase(weather)) {
+                    return condition;
+                }
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,110 @@
+package zerobase.weatherproject.statistics;
+
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.dto.DiaryConditionCount;
+import zerobase.weatherproject.dto.WeatherStatistics;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 도시별 월간 날씨/일기 집계. 연간 통계는 조회 시 12개월을 합쳐서 만든다.
+ * 일기 수는 날짜 단위로 교체할 수 있도록 날짜별 (도시, 날씨, 개수) 도 함께 보관한다.
+ */
+public class WeatherRollups {
+
+    private final Map<String, NavigableMap<YearMonth, MonthlyRollup>> monthsByCity = new HashMap<>();
+    private final Map<LocalDate, List<DiaryConditionCount>> diaryCountsByDate = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public boolean addWeather(DateWeather dateWeather) {
+        lock.writeLock().lock();
+        try {
+            return month(dateWeather.getCity(), dateWeather.getDate()).addWeather(
+                    dateWeather.getDate().getDayOfMonth(),
+                    WeatherCondition.of(dateWeather.getWeather()),
+                    dateWeather.getTemperature());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 해당 날짜들의 일기 수를 counts 로 교체한다. 이전 값을 빼고 새 값을 더한다
+    public void replaceDiaryCounts(Collection<LocalDate> dates, List<DiaryConditionCount> counts) {
+        lock.writeLock().lock();
+        try {
+            for (LocalDate date : dates) {
+                List<DiaryConditionCount> previous = diaryCountsByDate.remove(date);
+                if (previous != null) {
+                    previous.forEach(count -> addDiaries(count, -count.count()));
+                }
+            }
+            for (DiaryConditionCount count : counts) {
+                diaryCountsByDate.computeIfAbsent(count.date(), key -> new ArrayList<>()).add(count);
+                addDiaries(count, count.count());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 재구성 시 연도별로 따로 만든 집계를 합친다. 연도가 겹치지 않으므로 그대로 옮긴다
+    public void absorb(WeatherRollups partition) {
+        lock.writeLock().lock();
+        try {
+            partition.monthsByCity.forEach((city, months) ->
+                    monthsByCity.computeIfAbsent(city, key -> new TreeMap<>()).putAll(months));
+            diaryCountsByDate.putAll(partition.diaryCountsByDate);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<WeatherStatistics> monthly(String city, int year) {
+        lock.readLock().lock();
+        try {
+            List<WeatherStatistics> statistics = new ArrayList<>();
+            months(city, year).forEach((yearMonth, rollup) ->
+                    statistics.add(rollup.toStatistics(city, year, yearMonth.getMonthValue())));
+            return statistics;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public WeatherStatistics yearly(String city, int year) {
+        lock.readLock().lock();
+        try {
+            MonthlyRollup total = new MonthlyRollup();
+            months(city, year).values().forEach(total::combine);
+            return total.toStatistics(city, year, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<YearMonth, MonthlyRollup> months(String city, int year) {
+        NavigableMap<YearMonth, MonthlyRollup> months = monthsByCity.get(city);
+        if (months == null) {
+            return new TreeMap<>();
+        }
+        return months.subMap(YearMonth.of(year, 1), true, YearMonth.of(year, 12), true);
+    }
+
+    private void addDiaries(DiaryConditionCount count, long delta) {
+        month(count.city(), count.date()).addDiaries(WeatherCondition.of(count.weather()), delta);
+    }
+
+    private MonthlyRollup month(String city, LocalDate date) {
+        return monthsByCity.computeIfAbsent(city, key -> new TreeMap<>())
+                .computeIfAbsent(YearMonth.from(date), key -> new MonthlyRollup());
+    }
+}
@@ -0,0 +1,49 @@
+package zerobase.weatherproject.transfer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * UTF-8 줄 단위 reader. 읽은 바이트 수를 세어서 행 경계의 위치를 재개 지점으로 쓸 수 있게 한다.
+ * 줄 버퍼를 재사용하므로 파일 크기와 관계없이 가장 긴 줄만큼만 메모리를 쓴다.
+ */
+public class LineReader {
+
+    private final InputStream inputStream;
+    private byte[] buffer = new byte[256];
+    private long position;
+
+    public LineReader(InputStream inputStream, long position) {
+        this.inputStream = inputStream;
+        this.position = position;
+    }
+
+    public String readLine() throws IOException {
+        int length = 0;
+        int read = inputStream.read();
+        if (read < 0) {
+            return null;
+        }
+        while (read >= 0) {
+            position++;
+            if (read == '\n') {
+                break;
+            }
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[length++] = (byte) read;
+            read = inputStream.read();
+        }
+        if (length > 0 && buffer[length - 1] == '\r') {
+            length--;
+        }
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    public long position() {
+        return position;
+    }
+}
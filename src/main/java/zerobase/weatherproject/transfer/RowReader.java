@@ -0,0 +1,12 @@
+package zerobase.weatherproject.transfer;
+
+import java.io.IOException;
+
+public interface RowReader {
+
+    // 다음 행의 컬럼 값. 더 이상 행이 없으면 null
+    String[] read() throws IOException;
+
+    // 지금까지 읽은 마지막 행 끝의 (압축 해제 기준) 바이트 위치
+    long position();
+}
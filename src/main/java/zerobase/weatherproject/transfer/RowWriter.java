@@ -0,0 +1,10 @@
+package zerobase.weatherproject.transfer;
+
+import java.io.IOException;
+
+public interface RowWriter {
+
+    void write(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,231 @@
+package zerobase.weatherproject.transfer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 한 줄에 한 행을 쓰는 파일 형식. NDJSON 은 컬럼 이름을 키로 하는 JSON 객체,
+ * CSV 는 첫 줄에 헤더를 두고 RFC 4180 방식으로 따옴표를 처리한다.
+ */
+public enum TransferFormat {
+
+    NDJSON {
+        @Override
+        public RowWriter writer(OutputStream outputStream, List<String> columns) throws IOException {
+            JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream);
+            generator.setRootValueSeparator(null);
+            return new RowWriter() {
+                @Override
+                public void write(Object[] values) throws IOException {
+                    generator.writeStartObject();
+                    for (int i = 0; i < columns.size(); i++) {
+                        generator.writeFieldName(columns.get(i));
+                        Object value = values[i];
+                        if (value == null) {
+                            generator.writeNull();
+                        } else if (value instanceof Double number) {
+                            generator.writeNumber(number);
+                        } else if (value instanceof Integer number) {
+                            generator.writeNumber(number);
+                        } else {
+                            generator.writeString(value.toString());
+                        }
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    generator.flush();
+                }
+            };
+        }
+
+        @Override
+        public RowReader reader(LineReader lineReader, List<String> columns, boolean fromStart) {
+            return new RowReader() {
+                @Override
+                public String[] read() throws IOException {
+                    String line = lineReader.readLine();
+                    while (line != null && line.isBlank()) {
+                        line = lineReader.readLine();
+                    }
+                    return line == null ? null : parse(line, columns);
+                }
+
+                @Override
+                public long position() {
+                    return lineReader.position();
+                }
+            };
+        }
+
+        private String[] parse(String line, List<String> columns) throws IOException {
+            String[] values = new String[columns.size()];
+            try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("expected json object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int index = columns.indexOf(parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (index < 0) {
+                        parser.skipChildren();
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        values[index] = parser.getText();
+                    }
+                }
+            }
+            return values;
+        }
+    },
+
+    CSV {
+        @Override
+        public RowWriter writer(OutputStream outputStream, List<String> columns) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writeLine(writer, columns.toArray());
+            return new RowWriter() {
+                @Override
+                public void write(Object[] values) throws IOException {
+                    writeLine(writer, values);
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+
+        @Override
+        public RowReader reader(LineReader lineReader, List<String> columns, boolean fromStart) throws IOException {
+            if (fromStart) {
+                String[] header = readRecord(lineReader, columns.size());
+                if (header == null || !List.of(header).equals(columns)) {
+                    throw new IOException("unexpected csv header");
+                }
+            }
+            return new RowReader() {
+                @Override
+                public String[] read() throws IOException {
+                    return readRecord(lineReader, columns.size());
+                }
+
+                @Override
+                public long position() {
+                    return lineReader.position();
+                }
+            };
+        }
+
+        private void writeLine(Writer writer, Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(writer, values[i].toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        private void writeField(Writer writer, String value) throws IOException {
+            boolean quote = value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            // 빈 문자열은 "" 로 써서 null(빈 칸)과 구분한다
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        // 따옴표 안의 줄바꿈은 같은 행으로 이어서 읽는다
+        private String[] readRecord(LineReader lineReader, int columnCount) throws IOException {
+            String line = lineReader.readLine();
+            if (line == null) {
+                return null;
+            }
+            StringBuilder record = new StringBuilder(line);
+            while (countQuotes(record) % 2 != 0) {
+                String next = lineReader.readLine();
+                if (next == null) {
+                    throw new IOException("unterminated csv quote");
+                }
+                record.append('\n').append(next);
+            }
+            return split(record, columnCount);
+        }
+
+        private String[] split(CharSequence record, int columnCount) throws IOException {
+            String[] values = new String[columnCount];
+            StringBuilder field = new StringBuilder();
+            int column = 0;
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            for (int i = 0; i < record.length(); i++) {
+                char c = record.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == ',') {
+                    if (column >= columnCount - 1) {
+                        throw new IOException("too many csv columns");
+                    }
+                    values[column++] = wasQuoted || !field.isEmpty() ? field.toString() : null;
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else {
+                    field.append(c);
+                }
+            }
+            if (column != columnCount - 1) {
+                throw new IOException("expected " + columnCount + " csv columns");
+            }
+            values[column] = wasQuoted || !field.isEmpty() ? field.toString() : null;
+            return values;
+        }
+
+        private int countQuotes(CharSequence record) {
+            int count = 0;
+            for (int i = 0; i < record.length(); i++) {
+                if (record.charAt(i) == '"') {
+                    count++;
+                }
+            }
+            return count;
+        }
+    };
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public abstract RowWriter writer(OutputStream outputStream, List<String> columns) throws IOException;
+
+    // fromStart 가 true 면 파일 처음부터 읽는 것이므로 헤더가 있는 형식은 헤더를 확인하고 건너뛴다
+    public abstract RowReader reader(LineReader lineReader, List<String> columns, boolean fromStart)
+            throws IOException;
+}
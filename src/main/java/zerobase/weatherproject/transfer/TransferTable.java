@@ -0,0 +1,21 @@
+package zerobase.weatherproject.transfer;
+
+import java.util.List;
+
+/**
+ * 내보내기/가져오기 대상 테이블과 컬럼 순서. 파일의 헤더와 각 행의 값은 이 순서를 따른다.
+ */
+public enum TransferTable {
+    DIARY(List.of("id", "date", "city", "weather", "icon", "temperature", "text")),
+    DATE_WEATHER(List.of("city", "date", "weather", "icon", "temperature"));
+
+    private final List<String> columns;
+
+    TransferTable(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+}
@@ -0,0 +1,8 @@
+package zerobase.weatherproject.type;
+
+public enum DiaryCreateStatus {
+    QUEUED,
+    REJECTED,
+    CREATED,
+    FAILED
+}
@@ -8,11 +8,20 @@ import lombok.Getter;
 public enum ErrorCode {
 
     FAILED_API_REQUEST("api request 실패 오류입니다."),
+    WEATHER_API_UNAVAILABLE("날씨 API 장애로 요청을 잠시 차단하고 있습니다."),
     FAILED_JSON_PARSING("json paring 실패 오류입니다."),
     INVALID_DATE_VALUE("파라미터 값이 누락된 오류입니다."),
     INVALID_DATE_TYPE_ERROR("잘못된 파라미터 타입 입력 오류입니다."),
     INVALID_PARAMETER_ERROR("잘못된 파라미터 요청 오류입니다."),
     FUTURE_DATE_NOT_ALLOWED("미래 파라미터값 입력 오류입니다."),
+    UNSUPPORTED_CITY("지원하지 않는 도시입니다."),
+    SEARCH_INDEX_NOT_READY("검색 색인을 준비하고 있습니다. 잠시 후 다시 시도해주세요."),
+    STATISTICS_NOT_READY("통계를 집계하고 있습니다. 잠시 후 다시 시도해주세요."),
+    INVALID_TRANSFER_FILE("내보내기/가져오기 파일 경로가 올바르지 않습니다."),
+    FAILED_FILE_TRANSFER("파일 입출력 오류입니다."),
+    WRITE_QUEUE_FULL("일기 저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."),
+    ARCHIVED_DIARY_READ_ONLY("보관된 달의 일기는 수정하거나 삭제할 수 없습니다."),
+    LOCK_ACQUISITION_TIMEOUT("같은 날짜의 일기 저장이 지연되고 있습니다. 잠시 후 다시 시도해주세요."),
     INTERNAL_SERVER_ERROR("내부 서버 오류입니다.");
 
     private final String description;
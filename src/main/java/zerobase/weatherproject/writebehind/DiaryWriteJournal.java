@@ -0,0 +1,138 @@
+package zerobase.weatherproject.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import zerobase.weatherproject.dto.PendingDiary;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 접수한 일기를 저장 전까지 보관하는 append-only 파일.
+ * 접수 시 accepted 줄을, 저장이 끝나면 done 줄을 쓰고, 재시작하면 done 이 없는 일기를 다시 돌려준다.
+ * 저장 커밋과 done 기록 사이에 종료되면 같은 일기가 한 번 더 저장될 수 있다(at-least-once).
+ */
+public class DiaryWriteJournal implements Closeable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private final FileChannel channel;
+    private int pending;
+
+    public DiaryWriteJournal(Path path, ObjectMapper objectMapper, boolean fsync) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+        terminateLastLine();
+    }
+
+    // 파일에 남아있는 미완료 일기를 접수 순서대로 반환한다
+    public synchronized List<PendingDiary> recover() throws IOException {
+        Map<String, PendingDiary> accepted = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = objectMapper.readValue(line, Entry.class);
+                } catch (IOException e) {
+                    // 쓰는 도중 종료되어 잘린 마지막 줄은 무시한다
+                    continue;
+                }
+                if (entry.accepted() != null) {
+                    accepted.put(entry.accepted().requestId(), entry.accepted());
+                }
+                if (entry.done() != null) {
+                    entry.done().forEach(accepted::remove);
+                }
+            }
+        }
+        pending = accepted.size();
+        return new ArrayList<>(accepted.values());
+    }
+
+    public synchronized void append(PendingDiary diary) throws IOException {
+        write(new Entry(diary, null));
+        pending++;
+    }
+
+    public synchronized void markDone(Collection<String> requestIds) throws IOException {
+        if (requestIds.isEmpty()) {
+            return;
+        }
+        write(new Entry(null, List.copyOf(requestIds)));
+        pending = Math.max(0, pending - requestIds.size());
+    }
+
+    // 미완료 일기가 없으면 파일을 비워서 크기가 계속 커지지 않게 한다
+    public synchronized boolean compactIfIdle() throws IOException {
+        if (pending > 0 || channel.size() == 0) {
+            return false;
+        }
+        channel.truncate(0);
+        if (fsync) {
+            channel.force(true);
+        }
+        return true;
+    }
+
+    public synchronized int pending() {
+        return pending;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // 쓰는 도중 종료되어 줄바꿈 없이 끝난 경우 다음 기록이 그 줄에 이어 붙지 않게 한다
+    private void terminateLastLine() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        if (last.get(0) != '\n') {
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(entry);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Entry(PendingDiary accepted, List<String> done) {
+    }
+}
@@ -0,0 +1,16 @@
+-- 날짜별 일기 변경 버전 (DiaryDateVersion 참고). 일기를 쓰고 고치고 지울 때 같은 트랜잭션에서 올리고,
+-- 기간 조회의 ETag / Last-Modified 를 만든다.
+-- 기존 DB 에는 애플리케이션 배포 전에 한 번 실행한다. ddl-auto 를 쓰지 않으므로 자동으로 만들어지지 않는다.
+create table if not exists diary_date_version
+(
+    date          date     not null,
+    version       bigint   not null,
+    last_modified datetime(6),
+    primary key (date)
+) engine = InnoDB;
+
+-- 이미 일기가 있는 날짜도 Last-Modified 를 돌려줄 수 있도록 버전 1 로 채운다
+insert into diary_date_version (date, version, last_modified)
+select d.date, 1, now(6)
+from (select distinct date from diary) d
+where not exists (select 1 from diary_date_version v where v.date = d.date);
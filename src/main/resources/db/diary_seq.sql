@@ -0,0 +1,15 @@
+-- Diary id 는 IDENTITY 대신 allocationSize 50 의 pooled sequence 로 발급한다 (Hibernate 배치 insert 를 위해).
+-- MySQL 에는 sequence 가 없어서 Hibernate 가 diary_seq 테이블로 흉내낸다.
+-- 기존 DB 에는 애플리케이션 배포 전에 한 번 실행한다. ddl-auto 를 쓰지 않으므로 자동으로 만들어지지 않는다.
+--
+-- pooled optimizer 는 읽어온 next_val 을 V 라 할 때 (V - 49) ~ V 구간을 발급하므로,
+-- 기존 AUTO_INCREMENT id 와 겹치지 않도록 max(id) 를 50 단위로 올림한 값보다 한 구간 위로 시작한다.
+create table if not exists diary_seq
+(
+    next_val bigint
+) engine = InnoDB;
+
+insert into diary_seq (next_val)
+select (floor(d.max_id / 50) + 2) * 50
+from (select coalesce(max(id), 0) as max_id from diary) d
+where not exists (select 1 from diary_seq);
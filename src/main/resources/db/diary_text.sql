@@ -0,0 +1,21 @@
+-- 일기 본문은 diary.text 대신 diary_text 테이블에 저장한다 (DiaryText 참고).
+-- 기존 DB 에는 애플리케이션 배포 전에 한 번 실행한다. ddl-auto 를 쓰지 않으므로 자동으로 만들어지지 않는다.
+--
+-- 압축하지 않은 본문은 UTF-8 그대로 읽으므로 기존 text 를 그대로 복사하면 된다.
+-- 본문 수정은 기존 행을 update 하므로 본문이 없는 일기도 행을 만들어 둔다.
+create table if not exists diary_text
+(
+    diary_id int not null,
+    body     mediumblob,
+    primary key (diary_id)
+) engine = InnoDB;
+
+insert into diary_text (diary_id, body)
+select d.id, d.text
+from diary d
+where not exists (select 1 from diary_text t where t.diary_id = d.id);
+
+-- 새 일기는 diary.text 를 채우지 않으므로 NOT NULL 이면 insert 가 실패한다.
+-- 복사가 확인되면 alter table diary drop column text; 로 지워도 된다.
+alter table diary
+    modify column text text null;
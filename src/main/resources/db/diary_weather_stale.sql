@@ -0,0 +1,5 @@
+-- API 장애로 다른 날짜의 날씨를 대신 저장한 일기를 표시한다 (Diary.weatherStale 참고).
+-- 표시된 일기는 날씨를 받을 수 있게 되면 스케줄러가 다시 채운다 (DiaryRepository.fillInWeather).
+-- 기존 DB 에는 애플리케이션 배포 전에 한 번 실행한다. ddl-auto 를 쓰지 않으므로 자동으로 만들어지지 않는다.
+alter table diary
+    add column weather_stale bit not null default 0;
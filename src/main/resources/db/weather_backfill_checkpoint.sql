@@ -0,0 +1,9 @@
+-- 날씨 백필 작업별 진행 위치 (WeatherBackfillCheckpoint 참고). 중단된 백필은 마지막으로 끝낸 날짜 다음부터 이어서 한다.
+-- 기존 DB 에는 애플리케이션 배포 전에 한 번 실행한다. ddl-auto 를 쓰지 않으므로 자동으로 만들어지지 않는다.
+create table if not exists weather_backfill_checkpoint
+(
+    job_key             varchar(255) not null,
+    last_completed_date date,
+    updated_at          datetime(6),
+    primary key (job_key)
+) engine = InnoDB;
@@ -0,0 +1,25 @@
+-- 날씨와 일기를 도시별로 저장한다 (DateWeather 의 (city, date) 복합 키, Diary.city 참고).
+-- 기존 DB 에는 애플리케이션 배포 전에 한 번 실행한다. ddl-auto 를 쓰지 않으므로 자동으로 만들어지지 않는다.
+--
+-- 기존 행은 모두 기본 도시의 날씨/일기이므로 weather.default-city 값으로 채운다.
+-- 기본 도시를 바꿔서 운영 중이면 아래 값을 그 값으로 바꿔서 실행한다.
+set @default_city = 'seoul';
+
+alter table date_weather
+    add column city varchar(255) null first;
+
+update date_weather
+set city = @default_city
+where city is null;
+
+alter table date_weather
+    modify column city varchar(255) not null,
+    drop primary key,
+    add primary key (city, date);
+
+alter table diary
+    add column city varchar(255) null;
+
+update diary
+set city = @default_city
+where city is null;
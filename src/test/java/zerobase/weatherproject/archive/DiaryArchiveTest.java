@@ -0,0 +1,140 @@
+package zerobase.weatherproject.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zerobase.weatherproject.dto.DiaryConditionCount;
+import zerobase.weatherproject.dto.DiaryView;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiaryArchiveTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rangeReadUsesOnlyOverlappingBlocks() throws IOException {
+        // given
+        DiaryArchive archive = new DiaryArchive(directory, 10);
+        archive.append(JANUARY, diaries(JANUARY, 31));
+
+        // when
+        List<DiaryView> views = archive.readViews(JANUARY.atDay(12), JANUARY.atDay(13), true);
+
+        // then
+        DiaryArchiveFile file = DiaryArchiveFile.open(directory, JANUARY);
+        assertThat(file.blocks()).hasSize(4);
+        assertThat(file.blocks().get(1).firstDate()).isEqualTo(JANUARY.atDay(11));
+        assertThat(views).extracting(DiaryView::id).containsExactly(12, 13);
+        assertThat(views.getFirst().text()).isEqualTo("2024-01-12 일기");
+        assertThat(archive.readViews(JANUARY.atDay(12), JANUARY.atDay(12), false).getFirst().text()).isNull();
+    }
+
+    @Test
+    void reopenedArchiveKeepsMonthsAndSkipsAlreadyArchivedIds() throws IOException {
+        // given
+        new DiaryArchive(directory, 10).append(JANUARY, diaries(JANUARY, 5));
+
+        // when
+        DiaryArchive reopened = new DiaryArchive(directory, 10);
+        int appended = reopened.append(JANUARY, diaries(JANUARY, 7));
+
+        // then
+        assertThat(appended).isEqualTo(2);
+        assertThat(reopened.months()).containsExactly(JANUARY);
+        assertThat(reopened.isArchived(JANUARY.atDay(20))).isTrue();
+        assertThat(reopened.overlaps(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1))).isFalse();
+        assertThat(reopened.read(JANUARY.atDay(1), JANUARY.atEndOfMonth())).hasSize(7);
+        assertThat(reopened.firstDate()).isEqualTo(JANUARY.atDay(1));
+    }
+
+    @Test
+    void firstDateIncludesEarlierDayAppendedInLaterBlock() throws IOException {
+        // given
+        DiaryArchive archive = new DiaryArchive(directory, 10);
+        archive.append(JANUARY, diaries(JANUARY, 31).subList(9, 31));
+
+        // when
+        archive.append(JANUARY, List.of(diary(JANUARY.atDay(3), 32)));
+
+        // then
+        assertThat(archive.firstDate()).isEqualTo(JANUARY.atDay(3));
+        assertThat(archive.lastDate()).isEqualTo(JANUARY.atDay(31));
+        try (Stream<ArchivedDiary> diaries = archive.stream(archive.firstDate(), archive.lastDate())) {
+            assertThat(diaries.map(ArchivedDiary::id)).hasSize(23).contains(32);
+        }
+    }
+
+    @Test
+    void unindexedTailIsDroppedOnNextAppend() throws IOException {
+        // given
+        DiaryArchive archive = new DiaryArchive(directory, 10);
+        archive.append(JANUARY, diaries(JANUARY, 3));
+        // 색인을 쓰기 전에 중단된 블록
+        Files.write(directory.resolve(JANUARY + ".diary"), new byte[]{1, 2, 3},
+                StandardOpenOption.APPEND);
+
+        // when
+        DiaryArchive reopened = new DiaryArchive(directory, 10);
+        reopened.append(JANUARY, List.of(diary(JANUARY.atDay(1), 4)));
+
+        // then
+        assertThat(reopened.read(JANUARY.atDay(1), JANUARY.atEndOfMonth()))
+                .extracting(ArchivedDiary::id)
+                .containsExactly(1, 4, 2, 3);
+    }
+
+    @Test
+    void mergePrefersHotRowsAndKeepsDateOrder() {
+        // given
+        DiaryView archived = diary(JANUARY.atDay(1), 1).toView(true);
+        DiaryView duplicated = diary(JANUARY.atDay(2), 2).toView(true);
+        DiaryView hot = new DiaryView(2, "아직 삭제되지 않은 일기", "Rain", "10d", 280.15, JANUARY.atDay(2));
+        DiaryView created = diary(JANUARY.atDay(1), 9).toView(true);
+
+        // when
+        List<DiaryView> merged = DiaryArchive.merge(List.of(created, hot), List.of(archived, duplicated));
+
+        // then
+        assertThat(merged).containsExactly(archived, created, hot);
+    }
+
+    @Test
+    void countByConditionGroupsArchivedDiaries() throws IOException {
+        // given
+        DiaryArchive archive = new DiaryArchive(directory, 10);
+        LocalDate date = JANUARY.atDay(5);
+        archive.append(JANUARY, List.of(diary(date, 1), diary(date, 2)));
+
+        // when
+        List<DiaryConditionCount> counts = archive.countByConditionIn(List.of(date, date.plusDays(1)));
+
+        // then
+        assertThat(counts).containsExactly(new DiaryConditionCount("seoul", date, "Clear", 2L));
+    }
+
+    private static List<ArchivedDiary> diaries(YearMonth month, int days) {
+        List<ArchivedDiary> diaries = new ArrayList<>();
+        for (int day = 1; day <= days; day++) {
+            diaries.add(diary(month.atDay(day), day));
+        }
+        return diaries;
+    }
+
+    private static ArchivedDiary diary(LocalDate date, int id) {
+        return new ArchivedDiary(id, date, "seoul", "Clear", "01d", id % 2 == 0 ? null : 285.15,
+                date + " 일기");
+    }
+}
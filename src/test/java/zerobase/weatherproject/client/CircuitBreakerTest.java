@@ -0,0 +1,99 @@
+package zerobase.weatherproject.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("test", 4, 4, 0.5,
+            Duration.ofSeconds(2), Duration.ofSeconds(30), 2, meterRegistry, now::get);
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        // given
+        call(true);
+        call(false);
+        call(true);
+
+        // when
+        call(false);
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("circuit.breaker.state").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void slowCallsCountAsFailures() {
+        // given
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThat(circuitBreaker.tryAcquire()).isTrue();
+            circuitBreaker.onSuccess(3 * SECOND);
+        }
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulProbes() {
+        // given
+        openCircuit();
+        now.addAndGet(30 * SECOND);
+
+        // when
+        boolean firstProbe = circuitBreaker.tryAcquire();
+        boolean secondProbe = circuitBreaker.tryAcquire();
+        boolean thirdProbe = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess(SECOND);
+        circuitBreaker.onSuccess(SECOND);
+
+        // then
+        assertThat(firstProbe).isTrue();
+        assertThat(secondProbe).isTrue();
+        assertThat(thirdProbe).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopens() {
+        // given
+        openCircuit();
+        now.addAndGet(30 * SECOND);
+
+        // when
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onFailure();
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void call(boolean success) {
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        if (success) {
+            circuitBreaker.onSuccess(SECOND);
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package zerobase.weatherproject.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenBucketRateLimiterTest {
+
+    @Test
+    void burstIsAvailableImmediatelyThenRejected() {
+        // given
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(0.001, 3);
+
+        // when
+        // then
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void acquireWaitsForRefill() throws InterruptedException {
+        // given
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(20, 1);
+        rateLimiter.acquire();
+
+        // when
+        long start = System.nanoTime();
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        // 초당 20개면 두 번 더 받는 데 약 100ms 가 걸린다
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(80).isLessThan(1000);
+    }
+
+    @Test
+    void refillDoesNotExceedBurst() throws InterruptedException {
+        // given
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(100, 2);
+        rateLimiter.tryAcquire();
+        rateLimiter.tryAcquire();
+
+        // when
+        Thread.sleep(50);
+
+        // then
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isTrue();
+        assertThat(rateLimiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void invalidConfigurationIsRejected() {
+        // given
+        // when
+        // then
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,222 @@
+package zerobase.weatherproject.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.type.ErrorCode;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WeatherClientTest {
+
+    private static final String WEATHER_JSON = "{\"coord\":{\"lon\":126.9778,\"lat\":37.5683},"
+            + "\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10n\"}],"
+            + "\"base\":\"stations\",\"main\":{\"temp\":290.11,\"feels_like\":289.9,\"pressure\":1016},"
+            + "\"name\":\"Seoul\",\"cod\":200}";
+
+    private static final WeatherCity SEOUL =
+            new WeatherCity("seoul", 37.5665, 126.9780, "Asia/Seoul");
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile long delayMillis;
+    // 이 위도로 들어온 요청만 500 으로 응답한다
+    private volatile String failingLat;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newFixedThreadPool(64);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/data/2.5/weather", exchange -> {
+            requestCount.incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // 응답을 보내기 전에 줄여야 클라이언트가 다음 요청을 보낸 뒤에 줄어드는 일이 없다
+            inFlight.decrementAndGet();
+            boolean failing = failingLat != null
+                    && exchange.getRequestURI().getQuery().contains("lat=" + failingLat + "&");
+            byte[] body = WEATHER_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(failing ? 500 : status.get(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void getCurrentWeatherTest() {
+        // given
+        WeatherClient weatherClient = newClient(5000);
+
+        // when
+        DateWeather dateWeather = weatherClient.getCurrentWeather(SEOUL);
+
+        // then
+        assertThat(dateWeather.getCity()).isEqualTo("seoul");
+        assertThat(dateWeather.getWeather()).isEqualTo("Rain");
+        assertThat(dateWeather.getIcon()).isEqualTo("10n");
+        assertThat(dateWeather.getTemperature()).isEqualTo(290.11);
+    }
+
+    @Test
+    void currentWeatherIsDatedInCityZone() {
+        // given
+        WeatherCity kiritimati = new WeatherCity("kiritimati", 1.8721, -157.4278, "Pacific/Kiritimati");
+        WeatherClient weatherClient = newClient(5000);
+
+        // when
+        DateWeather dateWeather = weatherClient.getCurrentWeather(kiritimati);
+
+        // then
+        assertThat(dateWeather.getDate()).isEqualTo(LocalDate.now(kiritimati.zoneId()));
+    }
+
+    @Test
+    void failedStatusThrowsApiRequestException() {
+        // given
+        status.set(401);
+        WeatherClient weatherClient = newClient(5000);
+
+        // when
+        // then
+        assertThatThrownBy(() -> weatherClient.getCurrentWeather(SEOUL))
+                .isInstanceOf(DiaryException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.FAILED_API_REQUEST);
+        assertThat(meterRegistry.get("weather.api.request")
+                .tag("type", "current")
+                .tag("error", "DiaryException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingUpstream() {
+        // given
+        status.set(500);
+        WeatherClient weatherClient = newClient(5000);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> weatherClient.getCurrentWeather(SEOUL))
+                    .isInstanceOf(DiaryException.class);
+        }
+
+        // when
+        // then
+        assertThatThrownBy(() -> weatherClient.getCurrentWeather(SEOUL))
+                .isInstanceOf(DiaryException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.WEATHER_API_UNAVAILABLE);
+        assertThat(requestCount.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("circuit.breaker.calls").tag("outcome", "rejected")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowUpstreamTimesOut() {
+        // given
+        delayMillis = 1000;
+        WeatherClient weatherClient = newClient(200);
+
+        // when
+        // then
+        assertThatThrownBy(() -> weatherClient.getCurrentWeather(SEOUL))
+                .isInstanceOf(DiaryException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.FAILED_API_REQUEST);
+    }
+
+    @Test
+    void concurrentRequestsDoNotHoldCallerThreads() {
+        // given
+        delayMillis = 1000;
+        int requests = 50;
+        WeatherClient weatherClient = newClient(5000);
+        List<CompletableFuture<DateWeather>> futures = new ArrayList<>();
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            futures.add(weatherClient.fetchCurrentWeather(SEOUL));
+        }
+        long submitMillis = (System.nanoTime() - start) / 1_000_000;
+        boolean anyDone = futures.stream().anyMatch(CompletableFuture::isDone);
+
+        // then
+        // 호출 스레드는 응답을 기다리지 않고 아직 끝나지 않은 future 를 바로 돌려받는다
+        assertThat(submitMillis).isLessThan(delayMillis / 2);
+        assertThat(anyDone).isFalse();
+        assertThat(futures.stream().map(CompletableFuture::join)).hasSize(requests);
+    }
+
+    @Test
+    void fanOutSkipsFailedCitiesAndBoundsConcurrency() {
+        // given
+        delayMillis = 100;
+        WeatherClient weatherClient = newClient(5000);
+        List<WeatherCity> cities = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            cities.add(new WeatherCity("city" + i, 37.0 + i, 127.0, "Asia/Seoul"));
+        }
+        failingLat = String.valueOf(cities.get(3).lat());
+
+        // when
+        List<DateWeather> dateWeathers = weatherClient.getCurrentWeathers(cities, 4);
+
+        // then
+        assertThat(dateWeathers).extracting(DateWeather::getCity)
+                .containsExactly("city0", "city1", "city2",
+                        "city4", "city5", "city6", "city7");
+        assertThat(requestCount.get()).isEqualTo(8);
+        assertThat(peakInFlight.get()).isBetween(2, 4);
+    }
+
+    private WeatherClient newClient(long readTimeoutMillis) {
+        return new WeatherClient("http://localhost:" + server.getAddress().getPort(),
+                "test-key", 1000, readTimeoutMillis, false, observationRegistry(),
+                new CircuitBreaker("weather-api", 4, 4, 1.0, Duration.ofSeconds(10),
+                        Duration.ofMinutes(1), 1, meterRegistry));
+    }
+
+    private ObservationRegistry observationRegistry() {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return observationRegistry;
+    }
+}
@@ -0,0 +1,79 @@
+package zerobase.weatherproject.client;
+
+import org.junit.jupiter.api.Test;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.exception.DiaryException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WeatherJsonParserTest {
+
+    private static final LocalDate NOVEMBER = LocalDate.of(
+            2024, 11, 3);
+
+    private final WeatherJsonParser parser = new WeatherJsonParser();
+
+    @Test
+    void parseTargetFieldsOnly() throws Exception {
+        // given
+        String json = "{\"coord\":{\"lon\":126.9778,\"lat\":37.5683},"
+                + "\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10n\"},"
+                + "{\"id\":701,\"main\":\"Mist\",\"description\":\"mist\",\"icon\":\"50n\"}],"
+                + "\"main\":{\"temp\":290.11,\"feels_like\":289.9,\"pressure\":1016},"
+                + "\"wind\":{\"speed\":1.54,\"deg\":[1,2,{\"main\":\"ignored\"}]},\"name\":\"Seoul\"}";
+
+        // when
+        DateWeather dateWeather = parser.parse(json.getBytes(StandardCharsets.UTF_8), NOVEMBER);
+
+        // then
+        assertThat(dateWeather.getDate()).isEqualTo(NOVEMBER);
+        assertThat(dateWeather.getWeather()).isEqualTo("Rain");
+        assertThat(dateWeather.getIcon()).isEqualTo("10n");
+        assertThat(dateWeather.getTemperature()).isEqualTo(290.11);
+    }
+
+    @Test
+    void integerTemperatureIsParsed() throws Exception {
+        // given
+        String json = "{\"main\":{\"temp\":290},\"weather\":[{\"main\":\"Clear\",\"icon\":\"01d\"}]}";
+
+        // when
+        DateWeather dateWeather = parser.parse(json.getBytes(StandardCharsets.UTF_8), NOVEMBER);
+
+        // then
+        assertThat(dateWeather.getTemperature()).isEqualTo(290.0);
+    }
+
+    @Test
+    void parseFirstTimeMachineDataPoint() throws Exception {
+        // given
+        String json = "{\"lat\":37.5665,\"lon\":126.978,\"timezone\":\"Asia/Seoul\","
+                + "\"data\":[{\"dt\":1698807600,\"temp\":288.5,\"humidity\":60,"
+                + "\"weather\":[{\"id\":800,\"main\":\"Clear\",\"icon\":\"01d\"}]},"
+                + "{\"dt\":1698811200,\"temp\":1.0,\"weather\":[{\"main\":\"Snow\"}]}]}";
+
+        // when
+        DateWeather dateWeather = parser.parseTimeMachine(json.getBytes(StandardCharsets.UTF_8), NOVEMBER);
+
+        // then
+        assertThat(dateWeather.getDate()).isEqualTo(NOVEMBER);
+        assertThat(dateWeather.getWeather()).isEqualTo("Clear");
+        assertThat(dateWeather.getIcon()).isEqualTo("01d");
+        assertThat(dateWeather.getTemperature()).isEqualTo(288.5);
+    }
+
+    @Test
+    void missingWeatherThrowsParsingException() {
+        // given
+        String json = "{\"main\":{\"temp\":290.11},\"weather\":[]}";
+
+        // when
+        // then
+        assertThatThrownBy(() -> parser.parse(json.getBytes(StandardCharsets.UTF_8), NOVEMBER))
+                .isInstanceOf(DiaryException.class);
+    }
+}
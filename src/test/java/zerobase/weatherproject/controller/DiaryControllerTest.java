@@ -1,5 +1,9 @@
 package zerobase.weatherproject.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -8,19 +12,40 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import zerobase.weatherproject.Controller.DiaryController;
+import zerobase.weatherproject.config.DiaryColumnarHttpMessageConverter;
 import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.dto.DiaryCreateResult;
+import zerobase.weatherproject.dto.DiaryVersion;
+import zerobase.weatherproject.dto.DiaryView;
+import zerobase.weatherproject.dto.DiaryWriteReceipt;
 import zerobase.weatherproject.service.DiaryService;
+import zerobase.weatherproject.service.DiaryWriteBehindService;
+import zerobase.weatherproject.type.ErrorCode;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(DiaryController.class)
@@ -33,6 +58,9 @@ public class DiaryControllerTest {
     @MockBean
     private DiaryService diaryService;
 
+    @MockBean
+    private DiaryWriteBehindService diaryWriteBehindService;
+
     private static final LocalDate JANUARY = LocalDate.of(
             2024, 1, 2);
     private static final LocalDate SEPTEMBER = LocalDate.of(
@@ -41,19 +69,26 @@ public class DiaryControllerTest {
             2024, 11, 3);
 
 
+    @BeforeEach
+    void setUp() {
+        when(diaryService.readVersion(any(), any()))
+                .thenReturn(new DiaryVersion(0, null));
+    }
+
     @Test
     void successCreateDiary() throws Exception {
         // given
 
         String text = "Today was a great day!";
 
-        diaryService.createDiary(NOVEMBER, text);
-        doNothing().when(diaryService).createDiary(NOVEMBER, text);
+        diaryService.createDiary(NOVEMBER, "busan", text);
+        doNothing().when(diaryService).createDiary(NOVEMBER, "busan", text);
 
         // when
         // then
         mockMvc.perform(post("/create/diary").
                         param("date", NOVEMBER.toString())
+                        .param("city", "busan")
                         .content(text)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -62,28 +97,84 @@ public class DiaryControllerTest {
     }
 
     @Test
-    void successReadDiary() throws Exception {
+    void createDiaryAsyncReturnsAccepted() throws Exception {
+        // given
+        String text = "Today was a great day!";
+
+        // when
+        when(diaryWriteBehindService.accept(NOVEMBER, null, text))
+                .thenReturn(DiaryWriteReceipt.queued("request-1"));
+
+        // then
+        mockMvc.perform(post("/create/diary/async")
+                        .param("date", NOVEMBER.toString())
+                        .content(text)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.requestId").value("request-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void createDiaryAsyncReturnsServiceUnavailableWhenQueueIsFull() throws Exception {
+        // given
+        String text = "Today was a great day!";
+
+        // when
+        when(diaryWriteBehindService.accept(NOVEMBER, null, text))
+                .thenReturn(DiaryWriteReceipt.rejected("request-1", ErrorCode.WRITE_QUEUE_FULL));
+
+        // then
+        mockMvc.perform(post("/create/diary/async")
+                        .param("date", NOVEMBER.toString())
+                        .content(text)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+    }
+
+    @Test
+    void successCreateDiaries() throws Exception {
         // given
-        Diary diary1 = new Diary();
-        diary1.setId(1);
-        diary1.setWeather("Rain");
-        diary1.setIcon("10n");
-        diary1.setTemperature(290.11);
-        diary1.setText("첫 번째 다이어리");
-        diary1.setDate(NOVEMBER);
+        Diary diary = new Diary();
+        diary.setId(1);
+        diary.setDate(NOVEMBER);
+
+        List<DiaryCreateResult> results = Arrays.asList(
+                DiaryCreateResult.created(0, diary),
+                DiaryCreateResult.failed(1, SEPTEMBER, ErrorCode.FAILED_API_REQUEST));
 
-        Diary diary2 = new Diary();
-        diary2.setId(2);
-        diary2.setWeather("Rain");
-        diary2.setIcon("10n");
-        diary2.setTemperature(290.11);
-        diary2.setText("두 번째 다이어리");
-        diary2.setDate(NOVEMBER);
+        // when
+        when(diaryService.createDiaries(anyList())).thenReturn(results);
+
+        // then
+        mockMvc.perform(post("/create/diaries")
+                        .content("[{\"date\":\"2024-11-03\",\"text\":\"첫 번째 다이어리\"},"
+                                + "{\"date\":\"2024-09-03\",\"text\":\"두 번째 다이어리\"}]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].errorCode").value("FAILED_API_REQUEST"));
+    }
+
+    @Test
+    void successReadDiary() throws Exception {
+        // given
+        DiaryView diary1 = new DiaryView(1, "첫 번째 다이어리",
+                "Rain", "10n", 290.11, NOVEMBER);
+        DiaryView diary2 = new DiaryView(2, "두 번째 다이어리",
+                "Rain", "10n", 290.11, NOVEMBER);
 
-        List<Diary> diaryList = Arrays.asList(diary1, diary2);
+        List<DiaryView> diaryList = Arrays.asList(diary1, diary2);
 
         // when
-        when(diaryService.readDiary(NOVEMBER)).thenReturn(diaryList);
+        when(diaryService.readDiary(NOVEMBER, true)).thenReturn(diaryList);
 
         // then
         mockMvc.perform(get("/read/diary")
@@ -98,36 +189,106 @@ public class DiaryControllerTest {
     }
 
     @Test
-    void successReadDiaries() throws Exception {
+    void readDiaryCarriesVersionValidator() throws Exception {
+        // given
+        DiaryVersion version = new DiaryVersion(3,
+                LocalDateTime.of(2024, 11, 3, 21, 0));
+
+        // when
+        when(diaryService.readVersion(NOVEMBER, NOVEMBER)).thenReturn(version);
+        when(diaryService.readDiary(NOVEMBER, true)).thenReturn(List.of());
+
+        // then
+        mockMvc.perform(get("/read/diary")
+                        .param("date", NOVEMBER.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v3-full-json\""))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    void unchangedDiaryReturnsNotModified() throws Exception {
+        // given
+        DiaryVersion version = new DiaryVersion(3,
+                LocalDateTime.of(2024, 11, 3, 21, 0));
+
+        // when
+        when(diaryService.readVersion(SEPTEMBER, NOVEMBER)).thenReturn(version);
+
+        // then
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", SEPTEMBER.toString())
+                        .param("endDate", NOVEMBER.toString())
+                        .header("If-None-Match", "\"v3-full-json\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(diaryService, never()).readDiaries(any(), any(), eq(true));
+    }
+
+    @Test
+    void etagOfOtherFormatDoesNotMatch() throws Exception {
+        // given
+        DiaryVersion version = new DiaryVersion(3,
+                LocalDateTime.of(2024, 11, 3, 21, 0));
+
+        // when
+        when(diaryService.readVersion(NOVEMBER, NOVEMBER)).thenReturn(version);
+        when(diaryService.readDiaries(NOVEMBER, NOVEMBER, true)).thenReturn(List.of());
+
+        // then
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", NOVEMBER.toString())
+                        .param("endDate", NOVEMBER.toString())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"v3-full-json\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v3-full-cbor\""))
+                .andExpect(header().string("Vary", "Accept"));
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", NOVEMBER.toString())
+                        .param("endDate", NOVEMBER.toString())
+                        .accept(DiaryColumnarHttpMessageConverter.APPLICATION_DIARY_COLUMNAR)
+                        .header("If-None-Match", "\"v3-full-columnar\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void successReadDiaryWithoutText() throws Exception {
         // given
-        Diary diary1 = new Diary();
-        diary1.setId(1);
-        diary1.setWeather("Rain");
-        diary1.setIcon("10n");
-        diary1.setTemperature(290.11);
-        diary1.setText("첫 번째 다이어리");
-        diary1.setDate(JANUARY);
+        DiaryView diary = new DiaryView(1,
+                "Rain", "10n", 290.11, NOVEMBER);
 
-        Diary diary2 = new Diary();
-        diary2.setId(2);
-        diary2.setWeather("Rain");
-        diary2.setIcon("01d");
-        diary2.setTemperature(297.81);
-        diary2.setText("두 번째 다이어리");
-        diary2.setDate(SEPTEMBER);
+        // when
+        when(diaryService.readDiary(NOVEMBER, false)).thenReturn(List.of(diary));
+
+        // then
+        mockMvc.perform(get("/read/diary")
+                        .param("date", NOVEMBER.toString())
+                        .param("includeText", "false")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].weather").value("Rain"))
+                .andExpect(jsonPath("$[0].text").doesNotExist());
+    }
 
-        Diary diary3 = new Diary();
-        diary3.setId(3);
-        diary3.setWeather("Rain");
-        diary3.setIcon("01d");
-        diary3.setTemperature(270.08);
-        diary3.setText("세 번째 다이어리");
-        diary3.setDate(NOVEMBER);
+    @Test
+    void successReadDiaries() throws Exception {
+        // given
+        DiaryView diary1 = new DiaryView(1, "첫 번째 다이어리",
+                "Rain", "10n", 290.11, JANUARY);
+        DiaryView diary2 = new DiaryView(2, "두 번째 다이어리",
+                "Rain", "01d", 297.81, SEPTEMBER);
+        DiaryView diary3 = new DiaryView(3, "세 번째 다이어리",
+                "Rain", "01d", 270.08, NOVEMBER);
 
-        List<Diary> diaryList = Arrays.asList(diary1, diary2, diary3);
+        List<DiaryView> diaryList = Arrays.asList(diary1, diary2, diary3);
 
         // when
-        when(diaryService.readDiaries(JANUARY, NOVEMBER)).thenReturn(diaryList);
+        when(diaryService.readDiaries(JANUARY, NOVEMBER, true)).thenReturn(diaryList);
 
         // then
         mockMvc.perform(get("/read/diaries")
@@ -146,6 +307,92 @@ public class DiaryControllerTest {
                 .andExpect(jsonPath("$[2].text").value("세 번째 다이어리"));
     }
 
+    @Test
+    void readDiariesAsColumnarGroupsSameDayWeather() throws Exception {
+        // given
+        DiaryView diary1 = new DiaryView(1, "첫 번째 다이어리",
+                "Rain", "10n", 290.11, NOVEMBER);
+        DiaryView diary2 = new DiaryView(2, "두 번째 다이어리",
+                "Rain", "10n", 290.11, NOVEMBER);
+
+        // when
+        when(diaryService.readDiaries(NOVEMBER, NOVEMBER, true)).thenReturn(List.of(diary1, diary2));
+
+        // then
+        mockMvc.perform(get("/read/diaries")
+                        .param("startDate", NOVEMBER.toString())
+                        .param("endDate", NOVEMBER.toString())
+                        .accept(DiaryColumnarHttpMessageConverter.APPLICATION_DIARY_COLUMNAR))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(
+                        DiaryColumnarHttpMessageConverter.APPLICATION_DIARY_COLUMNAR))
+                .andExpect(jsonPath("$.groups.length()").value(1))
+                .andExpect(jsonPath("$.groups[0].date").value(NOVEMBER.toString()))
+                .andExpect(jsonPath("$.groups[0].ids[1]").value(2))
+                .andExpect(jsonPath("$.groups[0].texts[1]").value("두 번째 다이어리"));
+    }
+
+    @Test
+    void readDiariesAsSmile() throws Exception {
+        // given
+        DiaryView diary = new DiaryView(1, "첫 번째 다이어리",
+                "Rain", "10n", 290.11, NOVEMBER);
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        // when
+        when(diaryService.readDiaries(NOVEMBER, NOVEMBER, true)).thenReturn(List.of(diary));
+
+        // then
+        MvcResult result = mockMvc.perform(get("/read/diaries")
+                        .param("startDate", NOVEMBER.toString())
+                        .param("endDate", NOVEMBER.toString())
+                        .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn();
+        JsonNode decoded = new ObjectMapper(new SmileFactory())
+                .readTree(result.getResponse().getContentAsByteArray());
+        assertThat(decoded.get(0).get("text").asText()).isEqualTo("첫 번째 다이어리");
+        assertThat(decoded.get(0).get("date").asText()).isEqualTo(NOVEMBER.toString());
+    }
+
+    @Test
+    void successStreamDiaries() throws Exception {
+        // given
+        DiaryView diary1 = new DiaryView(1, "첫 번째 다이어리",
+                "Rain", "10n", 290.11, JANUARY);
+        DiaryView diary2 = new DiaryView(2, "두 번째 다이어리",
+                "Rain", "01d", 270.08, NOVEMBER);
+
+        // when
+        doAnswer(invocation -> {
+            Consumer<DiaryView> consumer = invocation.getArgument(3);
+            consumer.accept(diary1);
+            consumer.accept(diary2);
+            return null;
+        }).when(diaryService).streamDiaries(eq(JANUARY), eq(NOVEMBER), eq(true), any());
+
+        MvcResult result = mockMvc.perform(get("/read/diaries/stream")
+                        .param("startDate", JANUARY.toString())
+                        .param("endDate", NOVEMBER.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":1");
+        assertThat(lines[1]).contains("\"id\":2");
+    }
+
     @Test
     void successUpdateDiary() throws Exception {
         // given
@@ -153,7 +400,7 @@ public class DiaryControllerTest {
         String newText = "수정된 일기 내용";
 
         // when
-        doNothing().when(diaryService).updateDiary(date, newText);
+        when(diaryService.updateDiary(date, newText)).thenReturn(1);
 
         // then
         mockMvc.perform(put("/update/diary").
@@ -161,6 +408,7 @@ public class DiaryControllerTest {
                         .content(newText)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(content().string("1"))
                 .andDo(print());
 
     }
@@ -169,12 +417,28 @@ public class DiaryControllerTest {
     void successDeleteDiary() throws Exception {
         // given
         // when
-        doNothing().when(diaryService).deleteDiary(NOVEMBER);
+        when(diaryService.deleteDiary(NOVEMBER)).thenReturn(2);
 
         // then
         mockMvc.perform(delete("/delete/diary")
                         .param("date", NOVEMBER.toString()))
                 .andExpect(status().isOk())
+                .andExpect(content().string("2"))
+                .andDo(print());
+    }
+
+    @Test
+    void successDeleteDiaries() throws Exception {
+        // given
+        // when
+        when(diaryService.deleteDiaries(JANUARY, NOVEMBER)).thenReturn(3);
+
+        // then
+        mockMvc.perform(delete("/delete/diaries")
+                        .param("startDate", JANUARY.toString())
+                        .param("endDate", NOVEMBER.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"))
                 .andDo(print());
     }
 }
@@ -0,0 +1,52 @@
+package zerobase.weatherproject.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter(64);
+
+    @Test
+    void shortTextIsStoredAsPlainUtf8() {
+        // given
+        String text = "오늘의 일기";
+
+        // when
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        // then
+        assertThat(stored).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void longTextIsCompressedAndRestored() {
+        // given
+        String text = "비가 와서 하루 종일 집에 있었다. ".repeat(200);
+
+        // when
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        // then
+        assertThat(stored.length).isLessThan(text.getBytes(StandardCharsets.UTF_8).length / 10);
+        assertThat(stored[0]).isEqualTo((byte) 0xFF);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void legacyPlainValuesAndNullsAreReadAsIs() {
+        // given
+        byte[] legacy = "기존 varchar 에서 옮긴 본문".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        // then
+        assertThat(converter.convertToEntityAttribute(legacy)).isEqualTo("기존 varchar 에서 옮긴 본문");
+        assertThat(converter.convertToEntityAttribute(new byte[0])).isEmpty();
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
@@ -0,0 +1,63 @@
+package zerobase.weatherproject.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiaryColumnsTest {
+
+    private static final LocalDate NOVEMBER = LocalDate.of(2024, 11, 3);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void groupsSameWeatherAndRoundTrips() throws IOException {
+        // given
+        List<DiaryView> views = List.of(
+                new DiaryView(1, "첫 번째", "Clear", "01d", 280.15, NOVEMBER),
+                new DiaryView(2, "두 번째", "Clear", "01d", 280.15, NOVEMBER),
+                new DiaryView(3, "다음 날", "Rain", "10d", 275.15, NOVEMBER.plusDays(1)));
+
+        // when
+        DiaryColumns columns = DiaryColumns.of(views);
+        DiaryColumns read = objectMapper.readValue(objectMapper.writeValueAsBytes(columns), DiaryColumns.class);
+
+        // then
+        assertThat(columns.groups()).hasSize(2);
+        assertThat(columns.groups().getFirst().ids()).containsExactly(1, 2);
+        assertThat(read.toViews()).containsExactlyElementsOf(views);
+    }
+
+    @Test
+    void textsAreKeptWhenFirstDiaryHasNoText() {
+        // given
+        List<DiaryView> views = List.of(
+                new DiaryView(1, "Clear", "01d", 280.15, NOVEMBER),
+                new DiaryView(2, "본문 있는 일기", "Clear", "01d", 280.15, NOVEMBER));
+
+        // when
+        DiaryColumns columns = DiaryColumns.of(views);
+
+        // then
+        assertThat(columns.groups().getFirst().texts()).containsExactly(null, "본문 있는 일기");
+        assertThat(columns.toViews()).containsExactlyElementsOf(views);
+    }
+
+    @Test
+    void summariesOmitTexts() throws IOException {
+        // given
+        List<DiaryView> views = List.of(new DiaryView(1, "Clear", "01d", 280.15, NOVEMBER));
+
+        // when
+        String json = objectMapper.writeValueAsString(DiaryColumns.of(views));
+
+        // then
+        assertThat(json).doesNotContain("texts");
+    }
+}
@@ -0,0 +1,199 @@
+package zerobase.weatherproject.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<DataSource> databases = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = embeddedDatabase("primary");
+        DataSource replica = embeddedDatabase("replica");
+        useRouting(primary, List.of(replica), ReplicaLoadBalancing.ROUND_ROBIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.end();
+        databases.forEach(database -> new JdbcTemplate(database).execute("SHUTDOWN"));
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        // given
+        // when
+        String readOnly = readOnlyTransaction.execute(status -> currentDatabase());
+        String write = writeTransaction.execute(status -> currentDatabase());
+
+        // then
+        assertThat(readOnly).isEqualTo("replica");
+        assertThat(write).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.routing").tag("target", "replica").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void replicasAreUsedInRoundRobinOrder() {
+        // given
+        useRouting(embeddedDatabase("primary2"),
+                List.of(embeddedDatabase("replicaA"), embeddedDatabase("replicaB")),
+                ReplicaLoadBalancing.ROUND_ROBIN);
+
+        // when
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(readOnlyTransaction.execute(status -> currentDatabase()));
+        }
+
+        // then
+        assertThat(reads).containsExactly("replicaA", "replicaB", "replicaA", "replicaB");
+    }
+
+    @Test
+    void readsAfterWriteInSameRequestGoToPrimary() {
+        // given
+        List<Boolean> firstWrites = new ArrayList<>();
+        ReadYourWritesContext.begin(false, () -> firstWrites.add(true));
+
+        // when
+        String beforeWrite = readOnlyTransaction.execute(status -> currentDatabase());
+        writeTransaction.executeWithoutResult(status -> currentDatabase());
+        writeTransaction.executeWithoutResult(status -> currentDatabase());
+        String afterWrite = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // then
+        assertThat(beforeWrite).isEqualTo("replica");
+        assertThat(afterWrite).isEqualTo("primary");
+        assertThat(firstWrites).hasSize(1);
+    }
+
+    @Test
+    void cacheFillAfterCommitReadsPrimaryWhileReplicaLags() {
+        // given
+        // 커밋이 primary 에만 반영되고 replica 는 아직 따라오지 못한 상태
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE database_role SET name = ?", "primary-committed"));
+        Map<String, String> cache = new HashMap<>();
+
+        // when
+        String lagging = readOnlyTransaction.execute(status -> currentDatabase());
+        ReadYourWritesContext.runOnPrimary(() -> cache.put("role",
+                ReadYourWritesContext.onPrimary(() -> readOnlyTransaction.execute(status -> currentDatabase()))));
+        String afterScope = readOnlyTransaction.execute(status -> currentDatabase());
+
+        // then
+        assertThat(lagging).isEqualTo("replica");
+        assertThat(cache).containsEntry("role", "primary-committed");
+        assertThat(afterScope).isEqualTo("replica");
+        assertThat(ReadYourWritesContext.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void filterPinsClientToPrimaryUntilCookieExpires() throws Exception {
+        // given
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(3));
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("POST", "/create/diary"), writeResponse,
+                (request, response) -> writeTransaction.executeWithoutResult(status -> currentDatabase()));
+
+        List<String> reads = new ArrayList<>();
+        MockHttpServletRequest pinnedRead = new MockHttpServletRequest("GET", "/read/diary");
+        pinnedRead.setCookies(writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+        filter.doFilter(pinnedRead, new MockHttpServletResponse(),
+                (request, response) -> reads.add(readOnlyTransaction.execute(status -> currentDatabase())));
+
+        MockHttpServletRequest expiredRead = new MockHttpServletRequest("GET", "/read/diary");
+        expiredRead.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() - 1)));
+        filter.doFilter(expiredRead, new MockHttpServletResponse(),
+                (request, response) -> reads.add(readOnlyTransaction.execute(status -> currentDatabase())));
+
+        // then
+        assertThat(writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNotNull();
+        assertThat(reads).containsExactly("primary", "replica");
+    }
+
+    @Test
+    void forgedCookieDoesNotPinClientToPrimary() throws Exception {
+        // given
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(3), "secret");
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/create/diary"), writeResponse,
+                (request, response) -> writeTransaction.executeWithoutResult(status -> currentDatabase()));
+        String signed = writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME).getValue();
+        String signature = signed.substring(signed.indexOf('.'));
+
+        // when
+        List<String> reads = new ArrayList<>();
+        for (String forged : List.of(Long.toString(Long.MAX_VALUE), Long.MAX_VALUE + signature)) {
+            MockHttpServletRequest read = new MockHttpServletRequest("GET", "/read/diary");
+            read.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, forged));
+            filter.doFilter(read, new MockHttpServletResponse(),
+                    (request, response) -> reads.add(readOnlyTransaction.execute(status -> currentDatabase())));
+        }
+        MockHttpServletRequest otherInstance = new MockHttpServletRequest("GET", "/read/diary");
+        otherInstance.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, signed));
+        new ReadYourWritesFilter(Duration.ofSeconds(3), "other-secret").doFilter(otherInstance,
+                new MockHttpServletResponse(),
+                (request, response) -> reads.add(readOnlyTransaction.execute(status -> currentDatabase())));
+
+        // then
+        assertThat(reads).containsExactly("replica", "replica", "replica");
+    }
+
+    private void useRouting(DataSource primary, List<DataSource> replicas, ReplicaLoadBalancing loadBalancing) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, loadBalancing,
+                meterRegistry);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM database_role", String.class);
+    }
+
+    // 각 이름마다 별도의 H2 인메모리 DB 를 만들고 자기 이름을 한 줄 저장해둔다
+    private DataSource embeddedDatabase(String name) {
+        DriverManagerDataSource database = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(database);
+        template.execute("CREATE TABLE database_role (name VARCHAR(20))");
+        template.update("INSERT INTO database_role VALUES (?)", name);
+        databases.add(database);
+        return database;
+    }
+}
@@ -0,0 +1,93 @@
+package zerobase.weatherproject.search;
+
+import org.junit.jupiter.api.Test;
+import zerobase.weatherproject.dto.DiarySearchHit;
+import zerobase.weatherproject.dto.DiaryView;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiarySearchIndexTest {
+
+    private static final LocalDate NOVEMBER = LocalDate.of(2024, 11, 4);
+    private static final LocalDate DECEMBER = LocalDate.of(2024, 12, 1);
+
+    private final DiarySearchIndex searchIndex = new DiarySearchIndex(new DiaryTextAnalyzer());
+
+    @Test
+    void searchRanksMoreFrequentMatchesFirst() {
+        // given
+        searchIndex.add(view(1, NOVEMBER, "Walked the dog"));
+        searchIndex.add(view(2, NOVEMBER, "dog, dog and more dog"));
+        searchIndex.add(view(3, NOVEMBER, "Rainy day"));
+
+        // when
+        List<DiarySearchHit> hits = searchIndex.search("DOG", NOVEMBER, NOVEMBER, 10);
+
+        // then
+        assertThat(hits).extracting(DiarySearchHit::id).containsExactly(2, 1);
+    }
+
+    @Test
+    void searchRequiresAllTermsAndDateRange() {
+        // given
+        searchIndex.add(view(1, NOVEMBER, "walked the dog in the park"));
+        searchIndex.add(view(2, NOVEMBER, "the park was empty"));
+        searchIndex.add(view(3, DECEMBER, "walked the dog in the park again"));
+
+        // when
+        List<DiarySearchHit> hits = searchIndex.search("dog park", NOVEMBER, NOVEMBER.plusDays(7), 10);
+
+        // then
+        assertThat(hits).extracting(DiarySearchHit::id).containsExactly(1);
+    }
+
+    @Test
+    void koreanTextMatchesByBigram() {
+        // given
+        searchIndex.add(view(1, NOVEMBER, "오늘은 한강에서 산책을 했다"));
+        searchIndex.add(view(2, NOVEMBER, "하루 종일 비가 왔다"));
+
+        // when
+        List<DiarySearchHit> hits = searchIndex.search("산책", NOVEMBER, NOVEMBER, 10);
+
+        // then
+        assertThat(hits).extracting(DiarySearchHit::id).containsExactly(1);
+    }
+
+    @Test
+    void replaceDaysDropsDeletedAndUpdatedDiaries() {
+        // given
+        searchIndex.add(view(1, NOVEMBER, "sunny walk"));
+        searchIndex.add(view(2, NOVEMBER, "sunny picnic"));
+
+        // when
+        searchIndex.replaceDays(List.of(NOVEMBER), List.of(view(2, NOVEMBER, "cloudy picnic")));
+
+        // then
+        assertThat(searchIndex.search("sunny", NOVEMBER, NOVEMBER, 10)).isEmpty();
+        assertThat(searchIndex.search("cloudy", NOVEMBER, NOVEMBER, 10))
+                .extracting(DiarySearchHit::id).containsExactly(2);
+        assertThat(searchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void searchKeepsOnlyTopResults() {
+        // given
+        for (int id = 1; id <= 5; id++) {
+            searchIndex.add(view(id, NOVEMBER, "rain ".repeat(id) + "umbrella"));
+        }
+
+        // when
+        List<DiarySearchHit> hits = searchIndex.search("rain", NOVEMBER, NOVEMBER, 2);
+
+        // then
+        assertThat(hits).extracting(DiarySearchHit::id).containsExactly(5, 4);
+    }
+
+    private static DiaryView view(int id, LocalDate date, String text) {
+        return new DiaryView(id, text, "Clear", "01d", 10.0, date);
+    }
+}
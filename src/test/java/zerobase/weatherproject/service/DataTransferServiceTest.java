@@ -0,0 +1,169 @@
+package zerobase.weatherproject.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import zerobase.weatherproject.archive.DiaryArchive;
+import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.dto.TransferResult;
+import zerobase.weatherproject.repository.DateWeatherRepository;
+import zerobase.weatherproject.repository.DiaryRepository;
+import zerobase.weatherproject.transfer.TransferFormat;
+import zerobase.weatherproject.transfer.TransferTable;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DataTransferServiceTest {
+
+    private static final int ROWS = 5;
+
+    @Mock
+    private DiaryRepository diaryRepository;
+
+    @Mock
+    private DateWeatherRepository dateWeatherRepository;
+
+    @Mock
+    private DiaryService diaryService;
+
+    @Mock
+    private DiaryArchive diaryArchive;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private DataTransferService dataTransferService;
+    private final List<String> importedTexts = new ArrayList<>();
+    private final AtomicInteger importCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        dataTransferService = new DataTransferService(diaryRepository, dateWeatherRepository, diaryService,
+                diaryArchive, new DateWeatherCache(10), eventPublisher, transactionManager,
+                directory.toString(), 2);
+    }
+
+    @Test
+    void plainImportResumesFromCommittedOffsetAfterFailedBatch() {
+        // given
+        Path file = directory.resolve("diary.csv");
+        TransferResult exported = export(file, false);
+        failSecondBatch();
+
+        // when
+        TransferResult first = dataTransferService.importFile(TransferTable.DIARY, TransferFormat.CSV, file, 0);
+        TransferResult resumed = dataTransferService.importFile(TransferTable.DIARY, TransferFormat.CSV, file,
+                first.endOffset());
+
+        // then
+        assertThat(first.completed()).isFalse();
+        assertThat(first.rows()).isEqualTo(2);
+        assertThat(first.endOffset()).isGreaterThan(0).isLessThan(exported.endOffset());
+        // 헤더는 처음부터 읽을 때만 건너뛰고, 이어서 읽을 때는 첫 줄이 곧 데이터 행이다
+        assertThat(resumed.completed()).isTrue();
+        assertThat(resumed.rows()).isEqualTo(3);
+        assertThat(resumed.startOffset()).isEqualTo(first.endOffset());
+        assertThat(resumed.endOffset()).isEqualTo(exported.endOffset());
+        assertThat(importedTexts).containsExactlyElementsOf(texts());
+    }
+
+    @Test
+    void gzipImportSkipsToUncompressedOffsetOnResume() {
+        // given
+        Path file = directory.resolve("diary.csv.gz");
+        TransferResult exported = export(file, true);
+        failSecondBatch();
+
+        // when
+        TransferResult first = dataTransferService.importFile(TransferTable.DIARY, TransferFormat.CSV, file, 0);
+        TransferResult resumed = dataTransferService.importFile(TransferTable.DIARY, TransferFormat.CSV, file,
+                first.endOffset());
+
+        // then
+        assertThat(first.gzip()).isTrue();
+        assertThat(first.completed()).isFalse();
+        assertThat(first.rows()).isEqualTo(2);
+        assertThat(resumed.completed()).isTrue();
+        assertThat(resumed.rows()).isEqualTo(3);
+        // gzip 파일의 위치는 압축을 푼 바이트 기준이다
+        assertThat(resumed.endOffset()).isEqualTo(exported.endOffset());
+        assertThat(importedTexts).containsExactlyElementsOf(texts());
+    }
+
+    @Test
+    void ndjsonImportWithoutFailureCompletesInOnePass() {
+        // given
+        Path file = directory.resolve("diary.ndjson");
+        TransferResult exported = export(file, false, TransferFormat.NDJSON);
+        when(diaryService.importDiaries(anyList())).thenAnswer(invocation -> {
+            List<Diary> diaries = invocation.getArgument(0);
+            diaries.forEach(diary -> importedTexts.add(diary.getText()));
+            return diaries.size();
+        });
+
+        // when
+        TransferResult result = dataTransferService.importFile(TransferTable.DIARY, TransferFormat.NDJSON, file, 0);
+
+        // then
+        assertThat(result.completed()).isTrue();
+        assertThat(result.rows()).isEqualTo(ROWS);
+        assertThat(result.endOffset()).isEqualTo(exported.endOffset());
+        verify(diaryService, times(3)).importDiaries(anyList());
+        assertThat(importedTexts).containsExactlyElementsOf(texts());
+    }
+
+    private TransferResult export(Path file, boolean gzip) {
+        return export(file, gzip, TransferFormat.CSV);
+    }
+
+    private TransferResult export(Path file, boolean gzip, TransferFormat format) {
+        when(diaryRepository.streamExportRows()).thenReturn(IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> new Object[]{i, LocalDate.of(2024, 11, i), "seoul", "Clear", "01d", 280.5,
+                        text(i)}));
+        when(diaryArchive.firstDate()).thenReturn(null);
+        TransferResult exported = dataTransferService.export(TransferTable.DIARY, format, file, gzip);
+        assertThat(exported.rows()).isEqualTo(ROWS);
+        return exported;
+    }
+
+    // 두 번째 배치 (3, 4번째 행) 의 저장만 한 번 실패시킨다
+    private void failSecondBatch() {
+        when(diaryService.importDiaries(anyList())).thenAnswer(invocation -> {
+            if (importCalls.incrementAndGet() == 2) {
+                throw new IllegalStateException("database unavailable");
+            }
+            List<Diary> diaries = invocation.getArgument(0);
+            diaries.forEach(diary -> importedTexts.add(diary.getText()));
+            return diaries.size();
+        });
+    }
+
+    private static String text(int i) {
+        return "일기 " + i + ", \"따옴표\"\n둘째 줄";
+    }
+
+    private static List<String> texts() {
+        return Stream.iterate(1, i -> i + 1).limit(ROWS).map(DataTransferServiceTest::text).toList();
+    }
+}
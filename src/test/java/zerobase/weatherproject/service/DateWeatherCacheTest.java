@@ -0,0 +1,130 @@
+package zerobase.weatherproject.service;
+
+import org.junit.jupiter.api.Test;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.DateWeatherId;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DateWeatherCacheTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(
+            2024, 1, 2);
+    private static final LocalDate SEPTEMBER = LocalDate.of(
+            2024, 9, 3);
+    private static final LocalDate NOVEMBER = LocalDate.of(
+            2024, 11, 3);
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<DateWeather>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> cache.get(key(JANUARY), key -> {
+                loads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new DateWeather(key.getCity(), key.getDate(), "Clear", "01d", 298.55);
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // then
+        for (Future<DateWeather> result : results) {
+            assertThat(result.get().getWeather()).isEqualTo("Clear");
+        }
+        executor.shutdown();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.stats().loadSuccessCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount() + cache.stats().missCount()).isEqualTo(callers);
+    }
+
+    @Test
+    void cachedDateIsHit() {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(10);
+        cache.put(new DateWeather("seoul", JANUARY, "Clear", "01d", 298.55));
+
+        // when
+        DateWeather dateWeather = cache.get(key(JANUARY), key -> {
+            throw new IllegalStateException("should not load");
+        });
+
+        // then
+        assertThat(dateWeather.getIcon()).isEqualTo("01d");
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(0);
+    }
+
+    @Test
+    void leastRecentlyUsedDateIsEvicted() {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(2);
+        cache.put(new DateWeather("seoul", JANUARY, "Clear", "01d", 298.55));
+        cache.put(new DateWeather("seoul", SEPTEMBER, "Rain", "10d", 268.55));
+        cache.getIfPresent(key(JANUARY));
+
+        // when
+        cache.put(new DateWeather("seoul", NOVEMBER, "Clear", "01d", 288.55));
+
+        // then
+        assertThat(cache.getIfPresent(key(SEPTEMBER))).isNull();
+        assertThat(cache.getIfPresent(key(JANUARY))).isNotNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(10);
+
+        // when
+        // then
+        assertThatThrownBy(() -> cache.get(key(JANUARY), key -> {
+            throw new IllegalStateException("upstream down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.getIfPresent(key(JANUARY))).isNull();
+        assertThat(cache.stats().loadFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sameDateOfOtherCityIsSeparateEntry() {
+        // given
+        DateWeatherCache cache = new DateWeatherCache(10);
+        cache.put(new DateWeather("seoul", JANUARY, "Clear", "01d", 298.55));
+
+        // when
+        DateWeather busan = cache.getIfPresent(new DateWeatherId("busan", JANUARY));
+
+        // then
+        assertThat(busan).isNull();
+        assertThat(cache.getIfPresent(key(JANUARY))).isNotNull();
+    }
+
+    private static DateWeatherId key(LocalDate date) {
+        return new DateWeatherId("seoul", date);
+    }
+}
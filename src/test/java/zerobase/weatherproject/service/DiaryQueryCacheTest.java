@@ -0,0 +1,78 @@
+package zerobase.weatherproject.service;
+
+import org.junit.jupiter.api.Test;
+import zerobase.weatherproject.dto.DiaryView;
+import zerobase.weatherproject.event.DiaryChangedEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiaryQueryCacheTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(
+            2024, 1, 2);
+
+    @Test
+    void changedDateIsReloaded() {
+        // given
+        DiaryQueryCache cache = new DiaryQueryCache(1_000_000, 92);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(JANUARY, JANUARY.plusDays(1), dates -> {
+            loads.incrementAndGet();
+            return List.of(view(1, JANUARY), view(2, JANUARY.plusDays(1)));
+        });
+
+        // when
+        cache.onDiaryChanged(DiaryChangedEvent.of(JANUARY));
+        List<DiaryView> diaries = cache.get(JANUARY, JANUARY.plusDays(1), dates -> {
+            loads.incrementAndGet();
+            assertThat(dates).containsExactly(JANUARY);
+            return List.of(view(3, JANUARY));
+        });
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(diaries).extracting(DiaryView::id).containsExactly(3, 2);
+        assertThat(cache.stats().invalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsNotCached() {
+        // given
+        DiaryQueryCache cache = new DiaryQueryCache(1_000_000, 92);
+
+        // when
+        cache.get(JANUARY, JANUARY, dates -> {
+            cache.invalidate(List.of(JANUARY));
+            return List.of(view(1, JANUARY));
+        });
+
+        // then
+        assertThat(cache.getAllPresent(JANUARY, JANUARY)).isNull();
+    }
+
+    @Test
+    void leastRecentlyUsedDaysAreEvictedOverBudget() {
+        // given
+        DiaryQueryCache cache = new DiaryQueryCache(400, 92);
+
+        // when
+        for (int day = 0; day < 5; day++) {
+            LocalDate date = JANUARY.plusDays(day);
+            cache.get(date, date, dates -> List.of(view(1, date)));
+        }
+
+        // then
+        assertThat(cache.stats().estimatedBytes()).isLessThanOrEqualTo(400);
+        assertThat(cache.stats().evictionCount()).isPositive();
+        assertThat(cache.getAllPresent(JANUARY.plusDays(4), JANUARY.plusDays(4))).isNotNull();
+        assertThat(cache.getAllPresent(JANUARY, JANUARY)).isNull();
+    }
+
+    private static DiaryView view(int id, LocalDate date) {
+        return new DiaryView(id, "일기", "Clear", "01d", 280.0, date);
+    }
+}
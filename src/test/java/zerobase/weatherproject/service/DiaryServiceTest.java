@@ -1,21 +1,47 @@
 package zerobase.weatherproject.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import zerobase.weatherproject.archive.ArchivedDiary;
+import zerobase.weatherproject.archive.DiaryArchive;
+import zerobase.weatherproject.client.WeatherCity;
+import zerobase.weatherproject.client.WeatherClient;
+import zerobase.weatherproject.config.WeatherCityProperties;
 import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.DateWeatherId;
 import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.dto.DiaryCreateRequest;
+import zerobase.weatherproject.dto.DiaryCreateResult;
+import zerobase.weatherproject.dto.DiaryCursor;
+import zerobase.weatherproject.dto.DiaryPage;
+import zerobase.weatherproject.dto.DiaryView;
+import zerobase.weatherproject.event.DiaryChangedEvent;
+import zerobase.weatherproject.exception.DiaryException;
 import zerobase.weatherproject.repository.DateWeatherRepository;
+import zerobase.weatherproject.repository.DiaryDateVersionRepository;
 import zerobase.weatherproject.repository.DiaryRepository;
+import zerobase.weatherproject.type.DiaryCreateStatus;
+import zerobase.weatherproject.type.ErrorCode;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,9 +53,42 @@ public class DiaryServiceTest {
     @Mock
     private DateWeatherRepository dateWeatherRepository;
 
+    @Mock
+    private WeatherClient weatherClient;
+
+    @Spy
+    private StripedDateLock stripedDateLock = new StripedDateLock(16, 100, new SimpleMeterRegistry());
+
+    @Mock
+    private DiaryDateVersionRepository diaryDateVersionRepository;
+
+    @Mock
+    private DiaryArchive diaryArchive;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private DiaryQueryCache diaryQueryCache = new DiaryQueryCache(1_000_000, 92);
+
+    @Spy
+    private WeatherCityProperties weatherCityProperties =
+            new WeatherCityProperties("seoul", List.of(SEOUL, BUSAN));
+
+    @Spy
+    private DateWeatherCache dateWeatherCache = new DateWeatherCache(10);
+
     @InjectMocks
     private DiaryService diaryService;
 
+    private static final WeatherCity SEOUL =
+            new WeatherCity("seoul", 37.5665, 126.9780, "Asia/Seoul");
+    private static final WeatherCity BUSAN =
+            new WeatherCity("busan", 35.1796, 129.0756, "Asia/Seoul");
+
     private static final LocalDate JANUARY = LocalDate.of(
             2024, 1, 2);
     private static final LocalDate SEPTEMBER = LocalDate.of(
@@ -41,49 +100,150 @@ public class DiaryServiceTest {
     void createDiaryTest() {
         // given
         DateWeather dateWeather = new DateWeather(
-                JANUARY, "Clear", "01d", 298.55);
+                "seoul", JANUARY, "Clear", "01d", 298.55);
 
         Diary diary = new Diary();
         diary.setDateWeather(dateWeather);
 
         // when
-        when(dateWeatherRepository.findAllByDate(JANUARY)).thenReturn(
-                Collections.singletonList(dateWeather)
-        );
+        when(dateWeatherRepository.findById(new DateWeatherId("seoul", JANUARY)))
+                .thenReturn(Optional.of(dateWeather));
+
+        diaryService.createDiary(JANUARY, null, "오늘의 일기");
+
+        // then
+        verify(stripedDateLock, times(1)).withLock(eq(JANUARY), any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(diaryRepository, times(1)).save(any(Diary.class));
+        verify(diaryDateVersionRepository, times(1)).increment(eq(JANUARY), any());
+    }
+
+    @Test
+    void createPastDiaryFetchesHistoricalWeather() {
+        // given
+        DateWeather dateWeather = new DateWeather(
+                "seoul", SEPTEMBER, "Rain", "10d", 293.15);
+
+        // when
+        when(dateWeatherRepository.findById(new DateWeatherId("seoul", SEPTEMBER)))
+                .thenReturn(Optional.empty());
+        when(weatherClient.getHistoricalWeather(SEOUL, SEPTEMBER)).thenReturn(dateWeather);
+        when(dateWeatherRepository.save(dateWeather)).thenReturn(dateWeather);
 
-        diaryService.createDiary(JANUARY, "오늘의 일기");
+        diaryService.createDiary(SEPTEMBER, "seoul", "지난 일기");
 
         // then
+        verify(weatherClient, never()).getCurrentWeather(any());
+        verify(dateWeatherRepository, times(1)).save(dateWeather);
         verify(diaryRepository, times(1)).save(any(Diary.class));
     }
 
+    @Test
+    void unavailableWeatherApiFallsBackToStaleWeather() {
+        // given
+        DateWeather latest = new DateWeather(
+                "seoul", JANUARY, "Snow", "13d", 268.15);
+
+        // when
+        when(dateWeatherRepository.findById(new DateWeatherId("seoul", SEPTEMBER)))
+                .thenReturn(Optional.empty());
+        when(weatherClient.getHistoricalWeather(SEOUL, SEPTEMBER))
+                .thenThrow(new DiaryException(ErrorCode.WEATHER_API_UNAVAILABLE));
+        when(dateWeatherRepository.findTopByCityAndDateLessThanEqualOrderByDateDesc("seoul", SEPTEMBER))
+                .thenReturn(Optional.of(latest));
+
+        diaryService.createDiary(SEPTEMBER, "seoul", "지난 일기");
+
+        // then
+        ArgumentCaptor<Diary> captor = ArgumentCaptor.forClass(Diary.class);
+        verify(diaryRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getDate()).isEqualTo(SEPTEMBER);
+        assertThat(captor.getValue().getWeather()).isEqualTo("Snow");
+        assertThat(captor.getValue().isWeatherStale()).isTrue();
+        assertThat(dateWeatherCache.getIfPresent(new DateWeatherId("seoul", SEPTEMBER))).isNull();
+    }
+
+    @Test
+    void saveWeatherOfMissingCitiesOnly() {
+        // given
+        DateWeather busanWeather = new DateWeather(
+                "busan", LocalDate.now(), "Clouds", "03d", 285.15);
+
+        // when
+        when(dateWeatherRepository.findCitiesByDate(LocalDate.now()))
+                .thenReturn(List.of("seoul"));
+        when(weatherClient.getCurrentWeathers(List.of(BUSAN), 8))
+                .thenReturn(List.of(busanWeather));
+
+        diaryService.saveWeatherDateEveryDayAtAm1();
+
+        // then
+        verify(dateWeatherRepository, times(1)).saveAll(List.of(busanWeather));
+        assertThat(dateWeatherCache.getIfPresent(busanWeather.getId())).isSameAs(busanWeather);
+    }
+
+    @Test
+    void createDiariesTest() {
+        // given
+        DateWeather dateWeather = new DateWeather(
+                "seoul", JANUARY, "Clear", "01d", 298.55);
+
+        List<DiaryCreateRequest> requests = Arrays.asList(
+                new DiaryCreateRequest(JANUARY, "첫 번째 일기", null),
+                new DiaryCreateRequest(LocalDate.now().plusDays(1), "미래 일기", "seoul"),
+                new DiaryCreateRequest(JANUARY, "두 번째 일기", "SEOUL"),
+                new DiaryCreateRequest(null, "날짜 없는 일기", null),
+                new DiaryCreateRequest(JANUARY, "없는 도시 일기", "atlantis"));
+
+        // when
+        when(dateWeatherRepository.findById(new DateWeatherId("seoul", JANUARY)))
+                .thenReturn(Optional.of(dateWeather));
+
+        List<DiaryCreateResult> results = diaryService.createDiaries(requests);
+
+        // then
+        verify(dateWeatherRepository, times(1)).findById(new DateWeatherId("seoul", JANUARY));
+        verify(diaryRepository, times(1)).saveAllInBatches(argThat(diaries ->
+                diaries.size() == 2
+                        && diaries.stream().allMatch(diary -> "Clear".equals(diary.getWeather()))));
+
+        assertThat(results).hasSize(5);
+        assertThat(results).extracting(DiaryCreateResult::status).containsExactly(
+                DiaryCreateStatus.CREATED, DiaryCreateStatus.FAILED,
+                DiaryCreateStatus.CREATED, DiaryCreateStatus.FAILED,
+                DiaryCreateStatus.FAILED);
+        assertThat(results.get(1).errorCode()).isEqualTo(ErrorCode.FUTURE_DATE_NOT_ALLOWED);
+        assertThat(results.get(3).errorCode()).isEqualTo(ErrorCode.INVALID_DATE_VALUE);
+        assertThat(results.get(4).errorCode()).isEqualTo(ErrorCode.UNSUPPORTED_CITY);
+    }
+
     @Test
     void readDiaryTest() {
         // given
         DateWeather dateWeather = new DateWeather(
-                JANUARY, "Clear", "01d", 298.55);
+                "seoul", JANUARY, "Clear", "01d", 298.55);
 
         Diary diary = new Diary();
         diary.setDateWeather(dateWeather);
         diary.setText("일기 조회 테스트");
 
         // when
-        when(diaryRepository.findAllByDate(JANUARY))
-                .thenReturn(Collections.singletonList(diary));
+        when(diaryRepository.findViewsByDate(JANUARY))
+                .thenReturn(Collections.singletonList(DiaryView.of(diary)));
 
-        List<Diary> diaries = diaryService.readDiary(JANUARY);
+        List<DiaryView> diaries = diaryService.readDiary(JANUARY, true);
 
         // then
         assertThat(diaries)
                 .hasSize(1)
                 .first()
                 .satisfies(getDiary -> {
-                    assertThat(getDiary.getId()).isEqualTo(0);
-                    assertThat(getDiary.getDate()).isEqualTo(JANUARY);
-                    assertThat(getDiary.getWeather()).isEqualTo("Clear");
-                    assertThat(getDiary.getIcon()).isEqualTo("01d");
-                    assertThat(getDiary.getTemperature()).isEqualTo(298.55);
-                    assertThat(getDiary.getText()).isEqualTo("일기 조회 테스트");
+                    assertThat(getDiary.id()).isEqualTo(0);
+                    assertThat(getDiary.date()).isEqualTo(JANUARY);
+                    assertThat(getDiary.weather()).isEqualTo("Clear");
+                    assertThat(getDiary.icon()).isEqualTo("01d");
+                    assertThat(getDiary.temperature()).isEqualTo(298.55);
+                    assertThat(getDiary.text()).isEqualTo("일기 조회 테스트");
                 });
     }
 
@@ -91,99 +251,297 @@ public class DiaryServiceTest {
     void readDiariesTest() {
         // given
         DateWeather dateWeather1 = new DateWeather(
-                JANUARY, "Clear", "01d", 298.55);
+                "seoul", JANUARY, "Clear", "01d", 298.55);
 
         Diary diary1 = new Diary();
         diary1.setDateWeather(dateWeather1);
         diary1.setText("일기 조회 테스트1");
 
         DateWeather dateWeather2 = new DateWeather(
-                SEPTEMBER, "Rain", "10d", 268.55);
+                "seoul", SEPTEMBER, "Rain", "10d", 268.55);
 
         Diary diary2 = new Diary();
         diary2.setDateWeather(dateWeather2);
         diary2.setText("일기 조회 테스트2");
 
         DateWeather dateWeather3 = new DateWeather(
-                NOVEMBER, "Clear", "01d", 288.55);
+                "seoul", NOVEMBER, "Clear", "01d", 288.55);
 
         Diary diary3 = new Diary();
         diary3.setDateWeather(dateWeather3);
         diary3.setText("일기 조회 테스트3");
 
         // when
-        when(diaryRepository.findAllByDateBetween(JANUARY, NOVEMBER))
-                .thenReturn(Arrays.asList(diary1, diary2, diary3));
+        when(diaryRepository.findViewsByDateBetween(JANUARY, NOVEMBER))
+                .thenReturn(Arrays.asList(DiaryView.of(diary1), DiaryView.of(diary2), DiaryView.of(diary3)));
 
-        List<Diary> diaries = diaryService.readDiaries(JANUARY, NOVEMBER);
+        List<DiaryView> diaries = diaryService.readDiaries(JANUARY, NOVEMBER, true);
 
         // then
         assertThat(diaries)
                 .hasSize(3)
                 .first()
                 .satisfies(diary -> {
-                    assertThat(diary.getId()).isEqualTo(0);
-                    assertThat(diary.getDate()).isEqualTo(JANUARY);
-                    assertThat(diary.getWeather()).isEqualTo("Clear");
-                    assertThat(diary.getIcon()).isEqualTo("01d");
-                    assertThat(diary.getTemperature()).isEqualTo(298.55);
-                    assertThat(diary.getText()).isEqualTo("일기 조회 테스트1");
+                    assertThat(diary.id()).isEqualTo(0);
+                    assertThat(diary.date()).isEqualTo(JANUARY);
+                    assertThat(diary.weather()).isEqualTo("Clear");
+                    assertThat(diary.icon()).isEqualTo("01d");
+                    assertThat(diary.temperature()).isEqualTo(298.55);
+                    assertThat(diary.text()).isEqualTo("일기 조회 테스트1");
                 });
 
         assertThat(diaries)
                 .hasSize(3)
                 .element(1)
                 .satisfies(diary -> {
-                    assertThat(diary.getId()).isEqualTo(0);
-                    assertThat(diary.getDate()).isEqualTo(SEPTEMBER);
-                    assertThat(diary.getWeather()).isEqualTo("Rain");
-                    assertThat(diary.getIcon()).isEqualTo("10d");
-                    assertThat(diary.getTemperature()).isEqualTo(268.55);
-                    assertThat(diary.getText()).isEqualTo("일기 조회 테스트2");
+                    assertThat(diary.id()).isEqualTo(0);
+                    assertThat(diary.date()).isEqualTo(SEPTEMBER);
+                    assertThat(diary.weather()).isEqualTo("Rain");
+                    assertThat(diary.icon()).isEqualTo("10d");
+                    assertThat(diary.temperature()).isEqualTo(268.55);
+                    assertThat(diary.text()).isEqualTo("일기 조회 테스트2");
                 });
 
         assertThat(diaries)
                 .hasSize(3)
                 .last()
                 .satisfies(diary -> {
-                    assertThat(diary.getId()).isEqualTo(0);
-                    assertThat(diary.getDate()).isEqualTo(NOVEMBER);
-                    assertThat(diary.getWeather()).isEqualTo("Clear");
-                    assertThat(diary.getIcon()).isEqualTo("01d");
-                    assertThat(diary.getTemperature()).isEqualTo(288.55);
-                    assertThat(diary.getText()).isEqualTo("일기 조회 테스트3");
+                    assertThat(diary.id()).isEqualTo(0);
+                    assertThat(diary.date()).isEqualTo(NOVEMBER);
+                    assertThat(diary.weather()).isEqualTo("Clear");
+                    assertThat(diary.icon()).isEqualTo("01d");
+                    assertThat(diary.temperature()).isEqualTo(288.55);
+                    assertThat(diary.text()).isEqualTo("일기 조회 테스트3");
                 });
     }
 
     @Test
-    void updateDiaryTest() {
+    void readDiaryPageTest() {
         // given
-        DateWeather dateWeather = new DateWeather(
-                JANUARY, "Clear", "01d", 298.55);
+        DiaryView diary1 = new DiaryView(7, "첫 번째 일기",
+                "Clear", "01d", 298.55, JANUARY);
+        DiaryView diary2 = new DiaryView(9, "두 번째 일기",
+                "Rain", "10d", 268.55, SEPTEMBER);
 
-        Diary diary = new Diary();
-        diary.setDateWeather(dateWeather);
-        diary.setText("일기 조회 테스트");
+        // when
+        when(diaryRepository.findFirstPage(eq(JANUARY), eq(NOVEMBER), any(Pageable.class)))
+                .thenReturn(Arrays.asList(diary1, diary2));
+
+        DiaryPage page = diaryService.readDiaryPage(JANUARY, NOVEMBER, null, 2, true);
+
+        // then
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(DiaryCursor.decode(page.nextCursor()))
+                .isEqualTo(new DiaryCursor(SEPTEMBER, 9));
+    }
+
+    @Test
+    void readDiaryPageAfterCursorTest() {
+        // given
+        DiaryView diary = new DiaryView(10, "세 번째 일기",
+                "Clear", "01d", 288.55, NOVEMBER);
+        String cursor = new DiaryCursor(SEPTEMBER, 9).encode();
 
         // when
-        when(diaryRepository.getFirstByDate(JANUARY))
-                .thenReturn(diary);
+        when(diaryRepository.findPageAfter(eq(JANUARY), eq(NOVEMBER),
+                eq(SEPTEMBER), eq(9), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(diary));
 
+        DiaryPage page = diaryService.readDiaryPage(JANUARY, NOVEMBER, cursor, 2, true);
+
+        // then
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void readDiaryPageWithoutTextSkipsTextJoin() {
+        // given
+        DiaryView summary = new DiaryView(7,
+                "Clear", "01d", 298.55, JANUARY);
+
+        // when
+        when(diaryRepository.findFirstSummaryPage(eq(JANUARY), eq(NOVEMBER), any(Pageable.class)))
+                .thenReturn(List.of(summary));
+
+        DiaryPage page = diaryService.readDiaryPage(JANUARY, NOVEMBER, null, 2, false);
+
+        // then
+        assertThat(page.content()).containsExactly(summary);
+        verify(diaryRepository, never()).findFirstPage(any(), any(), any());
+    }
+
+    @Test
+    void recentRangeIsAssembledFromCachedDays() {
+        // given
+        LocalDate first = NOVEMBER.minusDays(2);
+        DiaryView cached = new DiaryView(1, "캐시된 일기",
+                "Clear", "01d", 288.55, NOVEMBER);
+        DiaryView loaded = new DiaryView(2, "새로 읽은 일기",
+                "Rain", "10d", 280.15, first);
+
+        when(diaryRepository.findViewsByDate(NOVEMBER))
+                .thenReturn(List.of(cached));
+        diaryService.readDiary(NOVEMBER, true);
+
+        // when
+        when(diaryRepository.findViewsByDateIn(List.of(first, first.plusDays(1))))
+                .thenReturn(List.of(loaded));
+
+        List<DiaryView> diaries = diaryService.readDiaries(first, NOVEMBER, true);
+        List<DiaryView> summaries = diaryService.readDiaries(first, NOVEMBER, false);
+
+        // then
+        assertThat(diaries).containsExactly(loaded, cached);
+        assertThat(summaries).extracting(DiaryView::text).containsOnlyNulls();
+        verify(diaryRepository, times(1)).findViewsByDate(NOVEMBER);
+        verify(diaryRepository, times(1)).findViewsByDateIn(any());
+        verify(diaryRepository, never()).findSummariesByDateBetween(any(), any());
+    }
+
+    @Test
+    void readDiariesWithoutTextTest() {
+        // given
+        DiaryView summary = new DiaryView(1,
+                "Clear", "01d", 298.55, JANUARY);
+
+        // when
+        when(diaryRepository.findSummariesByDateBetween(JANUARY, NOVEMBER))
+                .thenReturn(Collections.singletonList(summary));
+
+        List<DiaryView> diaries = diaryService.readDiaries(JANUARY, NOVEMBER, false);
+
+        // then
+        assertThat(diaries).containsExactly(summary);
+        assertThat(diaries.getFirst().text()).isNull();
+        verify(diaryRepository, never()).findViewsByDateBetween(any(), any());
+    }
+
+    @Test
+    void streamDiariesTest() {
+        // given
+        DiaryView diary1 = new DiaryView(1, "첫 번째 일기",
+                "Clear", "01d", 298.55, JANUARY);
+        DiaryView diary2 = new DiaryView(2, "두 번째 일기",
+                "Clear", "01d", 288.55, NOVEMBER);
+        List<DiaryView> received = new ArrayList<>();
+
+        // when
+        when(diaryRepository.streamViewsByDateBetween(JANUARY, NOVEMBER))
+                .thenReturn(Stream.of(diary1, diary2));
+
+        diaryService.streamDiaries(JANUARY, NOVEMBER, true, received::add);
+
+        // then
+        assertThat(received).containsExactly(diary1, diary2);
+    }
+
+    @Test
+    void updateDiaryTest() {
+        // given
         String newText = "새로운 일기";
-        diaryService.updateDiary(JANUARY, newText);
+
+        // when
+        when(diaryRepository.findFirstIdByDate(JANUARY))
+                .thenReturn(3);
+        when(diaryRepository.updateTextById(3, newText))
+                .thenReturn(1);
+
+        int updated = diaryService.updateDiary(JANUARY, newText);
 
         // then
-        assertThat(diary.getText()).isEqualTo(newText);
-        verify(diaryRepository, times(1)).save(diary);
+        assertThat(updated).isEqualTo(1);
+        verify(diaryRepository, never()).save(any(Diary.class));
+        verify(eventPublisher, times(1)).publishEvent(DiaryChangedEvent.of(JANUARY));
+    }
+
+    @Test
+    void updateMissingDiaryTest() {
+        // given
+        // when
+        when(diaryRepository.findFirstIdByDate(JANUARY))
+                .thenReturn(null);
+
+        int updated = diaryService.updateDiary(JANUARY, "새로운 일기");
+
+        // then
+        assertThat(updated).isEqualTo(0);
+        verify(diaryRepository, never()).updateTextById(anyInt(), anyString());
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(diaryDateVersionRepository, never()).increment(any(), any());
     }
 
     @Test
     void deleteDiaryTest() {
         // given
         // when
-        diaryService.deleteDiary(JANUARY);
+        when(diaryRepository.deleteAllByDate(JANUARY))
+                .thenReturn(2);
+
+        int deleted = diaryService.deleteDiary(JANUARY);
+
         // then
+        assertThat(deleted).isEqualTo(2);
         verify(diaryRepository, times(1))
                 .deleteAllByDate(JANUARY);
+        verify(eventPublisher, times(1)).publishEvent(DiaryChangedEvent.of(JANUARY));
+    }
+
+    @Test
+    void deleteDiariesTest() {
+        // given
+        // when
+        when(diaryRepository.findDatesBetween(JANUARY, NOVEMBER))
+                .thenReturn(List.of(JANUARY, NOVEMBER));
+        when(diaryRepository.deleteAllByDateBetween(JANUARY, NOVEMBER))
+                .thenReturn(5);
+
+        int deleted = diaryService.deleteDiaries(JANUARY, NOVEMBER);
+
+        // then
+        assertThat(deleted).isEqualTo(5);
+        verify(diaryDateVersionRepository, times(1)).increment(eq(JANUARY), any());
+        verify(diaryDateVersionRepository, times(1)).increment(eq(NOVEMBER), any());
+        verify(diaryDateVersionRepository, never()).increment(eq(SEPTEMBER), any());
+        verify(eventPublisher, times(1))
+                .publishEvent(DiaryChangedEvent.of(List.of(JANUARY, NOVEMBER)));
+    }
+
+    @Test
+    void readDiaryPageMergesArchivedDiaries() {
+        // given
+        DiaryView archived = new DiaryView(3, "보관된 일기",
+                "Clouds", "03d", 280.15, JANUARY);
+        DiaryView hot = new DiaryView(9, "새로 쓴 일기",
+                "Clear", "01d", 285.15, JANUARY);
+        DiaryView later = new DiaryView(12, "다음 일기",
+                "Rain", "10d", 288.15, NOVEMBER);
+
+        // when
+        when(diaryRepository.findFirstPage(eq(JANUARY), eq(NOVEMBER), any(Pageable.class)))
+                .thenReturn(List.of(hot, later));
+        when(diaryArchive.overlaps(JANUARY, NOVEMBER)).thenReturn(true);
+        when(diaryArchive.stream(JANUARY, NOVEMBER)).thenReturn(Stream.of(
+                new ArchivedDiary(3, JANUARY, "seoul", "Clouds", "03d", 280.15, "보관된 일기")));
+
+        DiaryPage page = diaryService.readDiaryPage(JANUARY, NOVEMBER, null, 2, true);
+
+        // then
+        assertThat(page.content()).containsExactly(archived, hot);
+        assertThat(page.nextCursor()).isEqualTo(DiaryCursor.of(hot).encode());
+    }
+
+    @Test
+    void updateArchivedDiaryIsRejected() {
+        // given
+        // when
+        when(diaryArchive.overlaps(JANUARY, JANUARY)).thenReturn(true);
+
+        // then
+        assertThatThrownBy(() -> diaryService.updateDiary(JANUARY, "수정"))
+                .isInstanceOf(DiaryException.class);
+        verify(diaryRepository, never()).updateTextById(anyInt(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
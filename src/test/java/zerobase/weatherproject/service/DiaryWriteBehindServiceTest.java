@@ -0,0 +1,166 @@
+package zerobase.weatherproject.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zerobase.weatherproject.client.WeatherCity;
+import zerobase.weatherproject.config.WeatherCityProperties;
+import zerobase.weatherproject.domain.Diary;
+import zerobase.weatherproject.dto.DiaryCreateRequest;
+import zerobase.weatherproject.dto.DiaryCreateResult;
+import zerobase.weatherproject.dto.DiaryWriteReceipt;
+import zerobase.weatherproject.dto.PendingDiary;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.type.DiaryCreateStatus;
+import zerobase.weatherproject.type.ErrorCode;
+import zerobase.weatherproject.writebehind.DiaryWriteJournal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DiaryWriteBehindServiceTest {
+
+    private static final LocalDate NOVEMBER = LocalDate.of(2024, 11, 3);
+    private static final WeatherCity SEOUL =
+            new WeatherCity("seoul", 37.5665, 126.9780, "Asia/Seoul");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<DiaryWriteBehindService> started = new ArrayList<>();
+
+    @Mock
+    private DiaryService diaryService;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (DiaryWriteBehindService service : started) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void failedTransactionIsRetriedWithoutDroppingTheDiary() throws Exception {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        when(diaryService.createDiaries(anyList())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() <= 3) {
+                throw new DiaryException(ErrorCode.LOCK_ACQUISITION_TIMEOUT);
+            }
+            return created(invocation.getArgument(0));
+        });
+        DiaryWriteBehindService service = start();
+
+        // when
+        DiaryWriteReceipt queued = service.accept(NOVEMBER, "seoul", "오늘의 일기");
+
+        // then
+        awaitUntil(() -> service.status(queued.requestId()).status() == DiaryCreateStatus.CREATED);
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(pendingInJournal()).isEmpty();
+    }
+
+    @Test
+    void retryableFailureStaysInJournalAndIsStoredAfterRestart() throws Exception {
+        // given
+        when(diaryService.createDiaries(anyList())).thenAnswer(invocation -> failed(invocation.getArgument(0),
+                ErrorCode.WEATHER_API_UNAVAILABLE));
+        DiaryWriteBehindService first = start();
+        DiaryWriteReceipt queued = first.accept(NOVEMBER, "seoul", "오늘의 일기");
+        verify(diaryService, timeout(5000).atLeast(2)).createDiaries(anyList());
+
+        // when
+        first.stop();
+        started.remove(first);
+        reset(diaryService);
+        when(diaryService.createDiaries(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        DiaryWriteBehindService restarted = start();
+
+        // then
+        assertThat(first.status(queued.requestId()).status()).isEqualTo(DiaryCreateStatus.QUEUED);
+        awaitUntil(() -> restarted.status(queued.requestId()) != null
+                && restarted.status(queued.requestId()).status() == DiaryCreateStatus.CREATED);
+        assertThat(pendingInJournal()).isEmpty();
+    }
+
+    @Test
+    void permanentFailureIsMarkedDoneWithoutRetry() throws Exception {
+        // given
+        when(diaryService.createDiaries(anyList())).thenAnswer(invocation -> failed(invocation.getArgument(0),
+                ErrorCode.UNSUPPORTED_CITY));
+        DiaryWriteBehindService service = start();
+
+        // when
+        DiaryWriteReceipt queued = service.accept(NOVEMBER, "seoul", "오늘의 일기");
+
+        // then
+        awaitUntil(() -> service.status(queued.requestId()).status() == DiaryCreateStatus.FAILED);
+        assertThat(service.status(queued.requestId()).errorCode()).isEqualTo(ErrorCode.UNSUPPORTED_CITY);
+        Thread.sleep(100);
+        verify(diaryService, times(1)).createDiaries(anyList());
+        assertThat(pendingInJournal()).isEmpty();
+    }
+
+    private DiaryWriteBehindService start() throws IOException {
+        DiaryWriteBehindService service = new DiaryWriteBehindService(diaryService,
+                new WeatherCityProperties("seoul", List.of(SEOUL)), objectMapper, new SimpleMeterRegistry(),
+                100, 10, 100, 10, 10, 50, journalPath().toString(), false);
+        service.start();
+        started.add(service);
+        return service;
+    }
+
+    private Path journalPath() {
+        return directory.resolve("diary-write-behind.journal");
+    }
+
+    // 서비스가 열어둔 저널과 별도로 파일을 다시 읽어서 미완료 일기를 확인한다
+    private List<PendingDiary> pendingInJournal() throws IOException {
+        try (DiaryWriteJournal journal = new DiaryWriteJournal(journalPath(), objectMapper, false)) {
+            return journal.recover();
+        }
+    }
+
+    private static List<DiaryCreateResult> created(List<DiaryCreateRequest> requests) {
+        List<DiaryCreateResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Diary diary = new Diary();
+            diary.setId(i + 1);
+            diary.setDate(requests.get(i).date());
+            results.add(DiaryCreateResult.created(i, diary));
+        }
+        return results;
+    }
+
+    private static List<DiaryCreateResult> failed(List<DiaryCreateRequest> requests, ErrorCode errorCode) {
+        List<DiaryCreateResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(DiaryCreateResult.failed(i, requests.get(i).date(), errorCode));
+        }
+        return results;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
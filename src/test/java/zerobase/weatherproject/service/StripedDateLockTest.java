@@ -0,0 +1,76 @@
+package zerobase.weatherproject.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import zerobase.weatherproject.exception.DiaryException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StripedDateLockTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(
+            2024, 1, 2);
+    private static final LocalDate NOVEMBER = LocalDate.of(
+            2024, 11, 3);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StripedDateLock stripedDateLock = new StripedDateLock(16, 100, meterRegistry);
+
+    @Test
+    void sameDateWaitsUntilActionCompletes() {
+        // given
+        // when
+        stripedDateLock.withLock(JANUARY, () -> {
+            assertThatThrownBy(() -> lockInOtherThread(JANUARY))
+                    .hasCauseInstanceOf(DiaryException.class);
+            return null;
+        });
+
+        // then
+        assertThatCode(() -> lockInOtherThread(JANUARY)).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("diary.lock.wait").tag("outcome", "timeout").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("diary.lock.wait").tag("outcome", "acquired").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void multipleDatesAreLockedAndReleasedTogether() {
+        // given
+        // when
+        String result = stripedDateLock.withLocks(List.of(NOVEMBER, JANUARY, NOVEMBER), () -> {
+            assertThatThrownBy(() -> lockInOtherThread(JANUARY))
+                    .hasCauseInstanceOf(DiaryException.class);
+            assertThatThrownBy(() -> lockInOtherThread(NOVEMBER))
+                    .hasCauseInstanceOf(DiaryException.class);
+            return "done";
+        });
+
+        // then
+        assertThat(result).isEqualTo("done");
+        assertThatCode(() -> lockInOtherThread(JANUARY)).doesNotThrowAnyException();
+        assertThatCode(() -> lockInOtherThread(NOVEMBER)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void lockIsReleasedWhenActionFails() {
+        // given
+        // when
+        assertThatThrownBy(() -> stripedDateLock.withLock(JANUARY, () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // then
+        assertThatCode(() -> lockInOtherThread(JANUARY)).doesNotThrowAnyException();
+    }
+
+    private void lockInOtherThread(LocalDate date) {
+        CompletableFuture.runAsync(() -> stripedDateLock.withLock(date, () -> null)).join();
+    }
+}
@@ -0,0 +1,186 @@
+package zerobase.weatherproject.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import zerobase.weatherproject.client.WeatherCity;
+import zerobase.weatherproject.client.WeatherClient;
+import zerobase.weatherproject.config.WeatherCityProperties;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.domain.WeatherBackfillCheckpoint;
+import zerobase.weatherproject.dto.BackfillResult;
+import zerobase.weatherproject.exception.DiaryException;
+import zerobase.weatherproject.repository.DateWeatherRepository;
+import zerobase.weatherproject.repository.WeatherBackfillCheckpointRepository;
+import zerobase.weatherproject.type.ErrorCode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class WeatherBackfillServiceTest {
+
+    private static final WeatherCity SEOUL =
+            new WeatherCity("seoul", 37.5665, 126.9780, "Asia/Seoul");
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 6);
+    private static final String JOB_KEY = "seoul_2024-01-01_2024-01-06";
+
+    @Mock
+    private DateWeatherRepository dateWeatherRepository;
+
+    @Mock
+    private WeatherBackfillCheckpointRepository checkpointRepository;
+
+    @Mock
+    private WeatherClient weatherClient;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // 저장소 대신 메모리에 날씨와 체크포인트를 보관한다
+    private final Set<LocalDate> savedDates = new HashSet<>();
+    private final Map<String, WeatherBackfillCheckpoint> checkpoints = new HashMap<>();
+    private final List<Integer> savedBatchSizes = new ArrayList<>();
+    private final Set<LocalDate> failingDates = new HashSet<>();
+
+    private WeatherBackfillService weatherBackfillService;
+
+    @BeforeEach
+    void setUp() {
+        when(weatherClient.getHistoricalWeather(eq(SEOUL), any())).thenAnswer(invocation -> {
+            LocalDate date = invocation.getArgument(1);
+            if (failingDates.contains(date)) {
+                throw new DiaryException(ErrorCode.FAILED_API_REQUEST);
+            }
+            return new DateWeather("seoul", date, "Clear", "01d", 280.15);
+        });
+        when(dateWeatherRepository.findDatesBetween(eq("seoul"), any(), any())).thenAnswer(invocation -> {
+            LocalDate from = invocation.getArgument(1);
+            LocalDate to = invocation.getArgument(2);
+            return savedDates.stream()
+                    .filter(date -> !date.isBefore(from) && !date.isAfter(to))
+                    .toList();
+        });
+        when(dateWeatherRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<DateWeather> weathers = invocation.getArgument(0);
+            savedBatchSizes.add(weathers.size());
+            weathers.forEach(weather -> savedDates.add(weather.getDate()));
+            return weathers;
+        });
+        when(checkpointRepository.findById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(checkpoints.get(invocation.<String>getArgument(0))));
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            WeatherBackfillCheckpoint checkpoint = invocation.getArgument(0);
+            checkpoints.put(checkpoint.getJobKey(), checkpoint);
+            return checkpoint;
+        });
+        doAnswer(invocation -> checkpoints.remove(invocation.<WeatherBackfillCheckpoint>getArgument(0).getJobKey()))
+                .when(checkpointRepository).delete(any());
+
+        weatherBackfillService = new WeatherBackfillService(dateWeatherRepository, checkpointRepository,
+                weatherClient, new DateWeatherCache(10), new WeatherCityProperties("seoul", List.of(SEOUL)),
+                eventPublisher, transactionManager, 1000, 10, 2, 2, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherBackfillService.shutdown();
+    }
+
+    @Test
+    void backfillSavesMissingDatesInChunks() {
+        // given
+        savedDates.add(LocalDate.of(2024, 1, 3));
+
+        // when
+        BackfillResult result = weatherBackfillService.backfill(SEOUL, START, END);
+
+        // then
+        assertThat(result.alreadyPresent()).isEqualTo(1);
+        assertThat(result.fetched()).isEqualTo(5);
+        assertThat(result.failedDates()).isEmpty();
+        assertThat(result.checkpoint()).isEqualTo(END);
+        assertThat(savedBatchSizes).containsExactly(2, 2, 1);
+        assertThat(savedDates).containsExactlyInAnyOrderElementsOf(START.datesUntil(END.plusDays(1)).toList());
+        verify(weatherClient, never()).getHistoricalWeather(SEOUL, LocalDate.of(2024, 1, 3));
+        // 완료된 작업의 체크포인트는 남기지 않는다
+        assertThat(checkpoints).isEmpty();
+    }
+
+    @Test
+    void failedDateIsRetriedFromCheckpointOnNextRun() {
+        // given
+        LocalDate failing = LocalDate.of(2024, 1, 4);
+        failingDates.add(failing);
+
+        // when
+        BackfillResult first = weatherBackfillService.backfill(SEOUL, START, END);
+        failingDates.clear();
+        BackfillResult second = weatherBackfillService.backfill(SEOUL, START, END);
+
+        // then
+        assertThat(first.fetched()).isEqualTo(5);
+        assertThat(first.failedDates()).containsExactly(failing);
+        // 실패한 날짜 직전까지만 완료로 기록한다
+        assertThat(first.checkpoint()).isEqualTo(failing.minusDays(1));
+
+        assertThat(second.resumedFrom()).isEqualTo(failing);
+        assertThat(second.alreadyPresent()).isEqualTo(2);
+        assertThat(second.fetched()).isEqualTo(1);
+        assertThat(second.failedDates()).isEmpty();
+        assertThat(second.checkpoint()).isEqualTo(END);
+        verify(weatherClient, times(2)).getHistoricalWeather(SEOUL, failing);
+        verify(weatherClient, times(1)).getHistoricalWeather(SEOUL, START);
+        assertThat(checkpoints).doesNotContainKey(JOB_KEY);
+        assertThat(savedDates).hasSize(6);
+    }
+
+    @Test
+    void checkpointDoesNotAdvancePastFirstFailedDate() {
+        // given
+        failingDates.add(START);
+
+        // when
+        BackfillResult result = weatherBackfillService.backfill(SEOUL, START, END);
+
+        // then
+        assertThat(result.failedDates()).containsExactly(START);
+        assertThat(result.checkpoint()).isEqualTo(START.minusDays(1));
+        assertThat(checkpoints).doesNotContainKey(JOB_KEY);
+    }
+
+    @Test
+    void rangeReachingTodayIsRejected() {
+        // given
+        LocalDate today = LocalDate.now();
+
+        // when
+        // then
+        assertThatThrownBy(() -> weatherBackfillService.backfill(SEOUL, today.minusDays(1), today))
+                .isInstanceOf(DiaryException.class);
+        verifyNoInteractions(weatherClient);
+    }
+}
@@ -0,0 +1,101 @@
+package zerobase.weatherproject.statistics;
+
+import org.junit.jupiter.api.Test;
+import zerobase.weatherproject.domain.DateWeather;
+import zerobase.weatherproject.dto.DiaryConditionCount;
+import zerobase.weatherproject.dto.WeatherStatistics;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeatherRollupsTest {
+
+    private static final LocalDate NOVEMBER_1 = LocalDate.of(2024, 11, 1);
+    private static final LocalDate NOVEMBER_2 = LocalDate.of(2024, 11, 2);
+    private static final LocalDate DECEMBER_1 = LocalDate.of(2024, 12, 1);
+
+    private final WeatherRollups rollups = new WeatherRollups();
+
+    @Test
+    void monthlyAggregatesWeatherOncePerDay() {
+        // given
+        rollups.addWeather(new DateWeather("seoul", NOVEMBER_1, "Clear", "01d", 280.0));
+        rollups.addWeather(new DateWeather("seoul", NOVEMBER_2, "Rain", "10d", 276.0));
+        rollups.addWeather(new DateWeather("busan", NOVEMBER_2, "Clear", "01d", 290.0));
+
+        // when
+        boolean added = rollups.addWeather(new DateWeather("seoul", NOVEMBER_1, "Clear", "01d", 280.0));
+        List<WeatherStatistics> monthly = rollups.monthly("seoul", 2024);
+
+        // then
+        assertThat(added).isFalse();
+        assertThat(monthly).hasSize(1);
+        WeatherStatistics november = monthly.getFirst();
+        assertThat(november.month()).isEqualTo(11);
+        assertThat(november.weatherDays()).isEqualTo(2);
+        assertThat(november.averageTemperature()).isEqualTo(278.0);
+        assertThat(november.minTemperature()).isEqualTo(276.0);
+        assertThat(november.maxTemperature()).isEqualTo(280.0);
+        assertThat(november.weatherConditions()).isEqualTo(Map.of("Clear", 1, "Rain", 1));
+    }
+
+    @Test
+    void replaceDiaryCountsSubtractsPreviousCounts() {
+        // given
+        rollups.replaceDiaryCounts(List.of(), List.of(
+                new DiaryConditionCount("seoul", NOVEMBER_1, "Clear", 3L),
+                new DiaryConditionCount("seoul", NOVEMBER_2, "Rain", 2L)));
+
+        // when
+        rollups.replaceDiaryCounts(List.of(NOVEMBER_1), List.of(
+                new DiaryConditionCount("seoul", NOVEMBER_1, "Clear", 1L)));
+
+        // then
+        WeatherStatistics november = rollups.monthly("seoul", 2024).getFirst();
+        assertThat(november.diaryCount()).isEqualTo(3);
+        assertThat(november.diaryCountsByCondition()).isEqualTo(Map.of("Clear", 1L, "Rain", 2L));
+    }
+
+    @Test
+    void yearlyCombinesMonths() {
+        // given
+        rollups.addWeather(new DateWeather("seoul", NOVEMBER_1, "Clear", "01d", 280.0));
+        rollups.addWeather(new DateWeather("seoul", DECEMBER_1, "Snow", "13d", 270.0));
+        rollups.addWeather(new DateWeather("seoul", LocalDate.of(2023, 12, 31), "Tornado", "50d", 250.0));
+        rollups.replaceDiaryCounts(List.of(), List.of(
+                new DiaryConditionCount("seoul", DECEMBER_1, "Snow", 4L)));
+
+        // when
+        WeatherStatistics yearly = rollups.yearly("seoul", 2024);
+
+        // then
+        assertThat(yearly.month()).isNull();
+        assertThat(yearly.weatherDays()).isEqualTo(2);
+        assertThat(yearly.averageTemperature()).isEqualTo(275.0);
+        assertThat(yearly.minTemperature()).isEqualTo(270.0);
+        assertThat(yearly.weatherConditions()).isEqualTo(Map.of("Clear", 1, "Snow", 1));
+        assertThat(yearly.diaryCountsByCondition()).isEqualTo(Map.of("Snow", 4L));
+    }
+
+    @Test
+    void absorbMergesYearPartitions() {
+        // given
+        WeatherRollups partition2023 = new WeatherRollups();
+        partition2023.addWeather(new DateWeather("seoul", LocalDate.of(2023, 5, 1), "Clear", "01d", 290.0));
+        WeatherRollups partition2024 = new WeatherRollups();
+        partition2024.addWeather(new DateWeather("seoul", NOVEMBER_1, "Rain", "10d", 280.0));
+
+        // when
+        rollups.absorb(partition2023);
+        rollups.absorb(partition2024);
+
+        // then
+        assertThat(rollups.yearly("seoul", 2023).weatherDays()).isEqualTo(1);
+        assertThat(rollups.yearly("seoul", 2024).weatherDays()).isEqualTo(1);
+        assertThat(rollups.yearly("busan", 2024).weatherDays()).isZero();
+        assertThat(rollups.yearly("busan", 2024).averageTemperature()).isNull();
+    }
+}
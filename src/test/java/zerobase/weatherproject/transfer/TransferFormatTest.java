@@ -0,0 +1,87 @@
+package zerobase.weatherproject.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransferFormatTest {
+
+    private static final List<String> COLUMNS = TransferTable.DIARY.columns();
+    private static final Object[] FIRST = {1, LocalDate.of(2024, 11, 4), "seoul", "Clear", "01d", 280.5,
+            "맑음, \"산책\"\n둘째 줄"};
+    private static final Object[] SECOND = {2, LocalDate.of(2024, 11, 5), null, "Rain", "10d", null, ""};
+
+    @Test
+    void ndjsonRoundTrip() throws IOException {
+        // given
+        byte[] file = write(TransferFormat.NDJSON);
+
+        // when
+        List<String[]> rows = readAll(TransferFormat.NDJSON, file, 0);
+
+        // then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsExactly("1", "2024-11-04", "seoul", "Clear", "01d", "280.5",
+                "맑음, \"산책\"\n둘째 줄");
+        assertThat(rows.get(1)).containsExactly("2", "2024-11-05", null, "Rain", "10d", null, "");
+    }
+
+    @Test
+    void csvRoundTripKeepsQuotedNewlinesAndEmptyText() throws IOException {
+        // given
+        byte[] file = write(TransferFormat.CSV);
+
+        // when
+        List<String[]> rows = readAll(TransferFormat.CSV, file, 0);
+
+        // then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)[6]).isEqualTo("맑음, \"산책\"\n둘째 줄");
+        assertThat(rows.get(1)).containsExactly("2", "2024-11-05", null, "Rain", "10d", null, "");
+    }
+
+    @Test
+    void readerResumesFromRowBoundary() throws IOException {
+        // given
+        byte[] file = write(TransferFormat.CSV);
+        LineReader lineReader = new LineReader(new ByteArrayInputStream(file), 0);
+        RowReader reader = TransferFormat.CSV.reader(lineReader, COLUMNS, true);
+        reader.read();
+        long offset = reader.position();
+
+        // when
+        List<String[]> rest = readAll(TransferFormat.CSV, file, offset);
+
+        // then
+        assertThat(rest).hasSize(1);
+        assertThat(rest.getFirst()[0]).isEqualTo("2");
+    }
+
+    private static byte[] write(TransferFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RowWriter writer = format.writer(out, COLUMNS);
+        writer.write(FIRST);
+        writer.write(SECOND);
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static List<String[]> readAll(TransferFormat format, byte[] file, long offset) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(file);
+        in.skipNBytes(offset);
+        RowReader reader = format.reader(new LineReader(in, offset), COLUMNS, offset == 0);
+        List<String[]> rows = new ArrayList<>();
+        String[] row;
+        while ((row = reader.read()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
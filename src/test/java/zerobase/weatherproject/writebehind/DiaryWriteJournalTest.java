@@ -0,0 +1,71 @@
+package zerobase.weatherproject.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zerobase.weatherproject.dto.PendingDiary;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiaryWriteJournalTest {
+
+    private static final LocalDate NOVEMBER = LocalDate.of(2024, 11, 3);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoverReturnsDiariesWithoutDoneMarker() throws IOException {
+        // given
+        Path path = directory.resolve("journal");
+        PendingDiary first = new PendingDiary("a", NOVEMBER, "seoul", "첫 번째 다이어리");
+        PendingDiary second = new PendingDiary("b", NOVEMBER, "busan", "두 번째 다이어리");
+        try (DiaryWriteJournal journal = new DiaryWriteJournal(path, objectMapper, false)) {
+            journal.append(first);
+            journal.append(second);
+            journal.markDone(List.of("a"));
+        }
+        // 종료 중에 잘린 마지막 줄
+        Files.writeString(path, "{\"accepted\":{\"requestId\":\"c\"", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        // when
+        List<PendingDiary> recovered;
+        try (DiaryWriteJournal journal = new DiaryWriteJournal(path, objectMapper, false)) {
+            recovered = journal.recover();
+        }
+
+        // then
+        assertThat(recovered).containsExactly(second);
+    }
+
+    @Test
+    void compactIfIdleTruncatesOnlyWhenNothingIsPending() throws IOException {
+        // given
+        Path path = directory.resolve("journal");
+        try (DiaryWriteJournal journal = new DiaryWriteJournal(path, objectMapper, false)) {
+            journal.append(new PendingDiary("a", NOVEMBER, "seoul", "다이어리"));
+
+            // when
+            boolean compactedWhilePending = journal.compactIfIdle();
+            journal.markDone(List.of("a"));
+            boolean compactedWhenIdle = journal.compactIfIdle();
+
+            // then
+            assertThat(compactedWhilePending).isFalse();
+            assertThat(compactedWhenIdle).isTrue();
+            assertThat(Files.size(path)).isZero();
+        }
+    }
+}